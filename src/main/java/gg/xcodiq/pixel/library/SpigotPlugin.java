@@ -27,7 +27,11 @@ package gg.xcodiq.pixel.library;
 import co.aikar.commands.BaseCommand;
 import co.aikar.commands.PaperCommandManager;
 import gg.xcodiq.pixel.library.configuration.SpigotConfig;
+import gg.xcodiq.pixel.library.gui.GUIRegistry;
+import gg.xcodiq.pixel.library.gui.GUIScheduler;
 import gg.xcodiq.pixel.library.gui.GUIWorker;
+import gg.xcodiq.pixel.library.gui.layout.GUILayout;
+import gg.xcodiq.pixel.library.gui.timing.GUITimingsCommand;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
@@ -80,6 +84,11 @@ public abstract class SpigotPlugin extends JavaPlugin {
 		// Clear the file map
 		this.fileMap.clear();
 
+		// Stop refreshing and close the open GUIs
+		GUIScheduler.shutdown();
+		GUIRegistry.shutdown();
+		GUILayout.stopWatching();
+
 		// Shutdown method
 		this.onShutdown();
 	}
@@ -87,6 +96,9 @@ public abstract class SpigotPlugin extends JavaPlugin {
 	private void registerRequiredListeners() {
 		// Register the menu handler listener
 		this.registerListener(new GUIWorker.GUIWorkerListener());
+
+		// Periodically purge GUI workers that were never closed
+		GUIRegistry.startLeakCheck(this);
 	}
 
 	public void registerListener(Listener listener) {
@@ -97,6 +109,11 @@ public abstract class SpigotPlugin extends JavaPlugin {
 		this.commandManager.registerCommand(command);
 	}
 
+	// Opt-in, several plugins can shade this library and only one of them should own /guitimings
+	public void registerGUITimingsCommand() {
+		this.registerCommand(new GUITimingsCommand());
+	}
+
 	public abstract void onStartup();
 
 	public abstract void onShutdown();
@@ -71,6 +71,10 @@ public class SpigotConfig {
 		return fileMap;
 	}
 
+	public File getFile() {
+		return this.file;
+	}
+
 	@SneakyThrows
 	public void reloadConfig() {
 		// Load the configuration with an InputStreamReader
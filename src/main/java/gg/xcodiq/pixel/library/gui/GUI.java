@@ -26,12 +26,16 @@ package gg.xcodiq.pixel.library.gui;
 
 import com.cryptomorin.xseries.XMaterial;
 import com.google.common.base.Preconditions;
+import gg.xcodiq.pixel.library.SpigotPlugin;
+import gg.xcodiq.pixel.library.gui.entry.ClickLimiter;
 import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
 import gg.xcodiq.pixel.library.gui.entry.GUIEntryBuilder;
 import gg.xcodiq.pixel.library.gui.entry.function.GUIEntryFunction;
 import gg.xcodiq.pixel.library.gui.page.GUIPage;
+import gg.xcodiq.pixel.library.gui.timing.GUITimings;
 import gg.xcodiq.pixel.library.util.ChatUtil;
 import gg.xcodiq.pixel.library.util.item.ItemBuilder;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Bukkit;
@@ -40,24 +44,56 @@ import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 @Getter
 public abstract class GUI implements InventoryHolder {
 
+	private static final Map<Class<?>, HashMap<Integer, HashMap<ItemStack, GUIMask>>> BORDER_MASKS = new WeakHashMap<>();
+	private static final Map<Class<?>, Map<String, ItemStack>> STOCK_ITEMS = new WeakHashMap<>();
+	// Titles and page numbers are part of some keys, so only the most recently used items of a class are kept
+	private static final int MAX_STOCK_ITEMS = 128;
+
 	private final HashMap<UUID, GUIWorker> workers = new HashMap<>();
 
-	private final LinkedList<GUIEntry> entries = new LinkedList<>();
-	private final LinkedList<GUIPage> pages = new LinkedList<>();
+	// Workers rendered once and shown to every viewer of a page, keyed by page number
+	private final HashMap<Integer, GUIWorker> sharedWorkers = new HashMap<>();
+
+	// The definition, built once by init() and shared by every session
+	@Getter(AccessLevel.NONE)
+	private final List<GUIEntry> entries = new ArrayList<>();
+	@Getter(AccessLevel.NONE)
+	private final List<GUIPage> pages = new ArrayList<>();
+	private final List<GUIMask> masks = new ArrayList<>();
+	// Whatever the constructor added comes before these marks and survives a rebuild, only the part init() built is dropped
+	@Getter(AccessLevel.NONE)
+	private int constructedEntries = -1, constructedPages, constructedMasks;
+	private boolean initialized = false;
+	// Bumped on every rebuild, so open workers know their composed frames are outdated
+	private int revision = 0;
 
 	@Setter
 	private String title;
 	@Setter
 	private int rows;
+	@Setter
+	private boolean sharedView = false;
+	@Setter
+	private boolean publishClickEvents = false;
+	@Setter
+	private ClickLimiter clickLimiter;
 
+	@Getter(AccessLevel.NONE)
 	private Inventory inventory;
+	// The border mask of this instance, getBorder() is only asked again after a rebuild or once the size changes
+	@Getter(AccessLevel.NONE)
+	private GUIMask borderMask;
+	@Getter(AccessLevel.NONE)
+	private int borderMaskRows;
 
 	public GUI(String title, int rows) {
 		this.title = title;
@@ -65,40 +101,139 @@ public abstract class GUI implements InventoryHolder {
 	}
 
 	protected void addItem(GUIEntry entry) {
+		Preconditions.checkState(!initialized, "The definition of " + this.getClass().getSimpleName() + " is already built, add items in init()");
 		entries.add(entry);
 	}
 
 	protected void addPage(GUIPage page) {
+		Preconditions.checkState(!initialized, "The definition of " + this.getClass().getSimpleName() + " is already built, add pages in init()");
 		pages.add(page);
 	}
 
+	protected void addPages(Collection<? extends GUIPage> pages) {
+		pages.forEach(this::addPage);
+	}
+
 	public void open(Player player, int pageNumber) {
-		this.init();
-		GUIPage page = pages.size() > 0 ? pages.get(pageNumber - 1) : null;
+		this.open(player, pageNumber, null);
+	}
 
-		this.inventory = Bukkit.createInventory(this, rows * 9, ChatUtil.format(page == null ? title : page.getTitle()));
+	GUIWorker open(Player player, int pageNumber, GUIFrame frame) {
+		if (frame == null) this.initialize();
 
-		GUIWorker worker = new GUIWorker(this, page, player);
+		if (sharedView) {
+			GUIWorker shared = sharedWorkers.get(pageNumber);
+
+			// Join the already rendered inventory instead of building a new one
+			if (shared != null && !shared.isDeleted()) {
+				shared.addViewer(player);
+				workers.put(player.getUniqueId(), shared);
+				return shared;
+			}
+		}
+
+		GUIPage page = null;
+		if (frame == null) page = this.getPage(pageNumber);
+
+		// Every session renders into its own inventory, the GUI itself only holds the definition
+		String title = frame != null ? frame.getTitle() : page == null ? this.title : page.getTitle();
+		Inventory inventory = InventoryPool.shared().acquire(rows * 9, title);
+
+		GUIWorker worker = frame != null ? new GUIWorker(this, inventory, frame, player) : new GUIWorker(this, inventory, page, player);
 		workers.put(player.getUniqueId(), worker);
+
+		if (sharedView) sharedWorkers.put(pageNumber, worker);
+		return worker;
 	}
 
 	public void open(Player player) {
 		this.open(player, 1);
 	}
 
+	// Builds the definition if it isn't built yet or went out of date, workers call this before composing a page too
+	void initialize() {
+		if (initialized && this.isOutdated()) this.rebuild();
+		if (initialized) return;
+
+		if (constructedEntries == -1) {
+			this.constructedEntries = entries.size();
+			this.constructedPages = pages.size();
+			this.constructedMasks = masks.size();
+		}
+
+		GUITimings.time(this.getClass(), GUITimings.Phase.INIT, this::init);
+
+		this.initialized = true;
+	}
+
+	// Drops the definition so the next open or page flip runs init() again, open sessions keep their current page until then
+	public void rebuild() {
+		if (!initialized) return;
+
+		this.initialized = false;
+		this.revision++;
+		entries.subList(constructedEntries, entries.size()).clear();
+		pages.subList(constructedPages, pages.size()).clear();
+		masks.subList(constructedMasks, masks.size()).clear();
+		this.borderMask = null;
+		// Shared renders of the previous definition stay open, but nobody joins them anymore
+		sharedWorkers.clear();
+	}
+
+	protected boolean isOutdated() {
+		return false;
+	}
+
+	// Whether workers compose the neighbouring pages ahead of time, so flipping to them is instant
+	public boolean isPrefetchingPages() {
+		return true;
+	}
+
 	public void close(Player player) {
 		GUIWorker worker = this.workers.get(player.getUniqueId());
 		Preconditions.checkNotNull(worker, "Can't close the inventory for " + player.getName() + ", no working GUI found.");
 
-		worker.deleteGUIWorker();
+		worker.removeViewer(player);
+	}
+
+	public void setClickLimit(double clicksPerSecond, int burst) {
+		this.clickLimiter = new ClickLimiter(clicksPerSecond, burst);
+	}
+
+	public void refreshSharedView() {
+		sharedWorkers.values().removeIf(GUIWorker::isDeleted);
+		sharedWorkers.values().forEach(GUIWorker::refresh);
+	}
+
+	public List<GUIEntry> getEntries() {
+		return Collections.unmodifiableList(entries);
+	}
+
+	public List<GUIPage> getPages() {
+		return Collections.unmodifiableList(pages);
+	}
+
+	protected GUIPage getPage(int pageNumber) {
+		if (pages.isEmpty()) return null;
+
+		// Sessions can still point past the end after a rebuild left fewer pages, those land on the last one
+		return pages.get(Math.max(1, Math.min(pageNumber, pages.size())) - 1);
 	}
 
 	public int getPageNumber(GUIPage page) {
 		return pages.indexOf(page) + 1;
 	}
 
+	public int getPageCount() {
+		return pages.size();
+	}
+
 	public void removeFromWorkers(Player player, GUIWorker worker) {
-		workers.remove(player.getUniqueId(), worker);
+		this.removeFromWorkers(player.getUniqueId(), worker);
+	}
+
+	public void removeFromWorkers(UUID player, GUIWorker worker) {
+		workers.remove(player, worker);
 	}
 
 	protected abstract void init();
@@ -106,64 +241,119 @@ public abstract class GUI implements InventoryHolder {
 	public void onClose(GUI gui, InventoryCloseEvent event) {
 	}
 
+	public void addMask(GUIMask mask) {
+		if (!masks.contains(mask)) masks.add(mask);
+	}
+
 	public void fillBorders() {
-		int rows = this.getRows();
+		GUIMask mask = this.getBorderMask();
+		if (mask != null) this.addMask(mask);
+	}
 
-		if (rows >= 3) {
-			for (int i = 0; i <= 8; i++) {
-				this.addItem(new GUIEntryBuilder().setSlot(i).setItem(this::getBorder).build());
-			}
+	public GUIMask getBorderMask() {
+		int rows = this.getRows();
+		if (rows < 3) return null;
+		if (borderMask != null && borderMaskRows == rows) return borderMask;
 
-			for (int i = 8; i < (rows * 9) - 9; i += 9) {
-				this.addItem(new GUIEntryBuilder().setSlot(i).setItem(this::getBorder).build());
-				this.addItem(new GUIEntryBuilder().setSlot(i + 1).setItem(this::getBorder).build());
-			}
+		// Instances with the same size and border item share one mask, getBorder() may still differ per instance
+		ItemStack border = this.getBorder();
+		this.borderMask = BORDER_MASKS.computeIfAbsent(this.getClass(), k -> new HashMap<>())
+				.computeIfAbsent(rows, k -> new HashMap<>())
+				.computeIfAbsent(border, k -> new GUIMask(GUIMask.borderSlots(rows), border));
+		this.borderMaskRows = rows;
 
-			for (int i = (rows * 9) - 9; i < rows * 9; i++) {
-				this.addItem(new GUIEntryBuilder().setSlot(i).setItem(this::getBorder).build());
-			}
-		}
+		return borderMask;
 	}
 
 	public ItemStack getBorder() {
 		return new ItemBuilder(XMaterial.BLACK_STAINED_GLASS_PANE).setName(" ").toItemStack();
 	}
 
+	public ItemStack getPlaceholder() {
+		return new ItemBuilder(XMaterial.LIGHT_GRAY_STAINED_GLASS_PANE).setName(ChatUtil.format("&7Loading...")).toItemStack();
+	}
+
 	public Optional<GUIEntryFunction<GUIPage, Player, GUIEntry>> getCloseButton() {
-		return Optional.of((page, player) -> new GUIEntryBuilder().setItem(() -> new ItemBuilder(XMaterial.BARRIER)
-				.setName(ChatUtil.format("&c&lCLOSE"))
-				.setLore(ChatUtil.format("&cClick to close &f" + this.getTitle() + " &7(Page #" + (page == null ? 1 : this.getPageNumber(page)) + ")"))
-				.toItemStack()).build());
+		return Optional.of((page, player) -> {
+			int pageNumber = page == null ? 1 : this.getPageNumber(page);
+
+			// The lore names the title and the page, so the finished item is cached for both
+			ItemStack item = this.getStockItem("close:" + pageNumber + ":" + this.getTitle(), () -> {
+				ItemStack close = new ItemBuilder(XMaterial.BARRIER).setName(ChatUtil.format("&c&lCLOSE")).toItemStack();
+				ItemMeta meta = close.getItemMeta();
+				if (meta != null) {
+					meta.setLore(Collections.singletonList(ChatUtil.format("&cClick to close &f" + this.getTitle() + " &7(Page #" + pageNumber + ")")));
+					close.setItemMeta(meta);
+				}
+
+				return close;
+			});
+
+			return new GUIEntryBuilder().setItem(item::clone).build();
+		});
 	}
 
 	public Optional<GUIEntryFunction<GUIPage, Player, GUIEntry>> getEmptyArrow() {
-		return Optional.of((page, player) -> new GUIEntryBuilder().setItem(() -> new ItemBuilder(XMaterial.PAPER).setName(ChatUtil.format("&4&lDEAD END &4☠")).toItemStack()).build());
+		return Optional.of((page, player) -> {
+			ItemStack item = this.getStockItem("empty", () -> new ItemBuilder(XMaterial.PAPER).setName(ChatUtil.format("&4&lDEAD END &4☠")).toItemStack());
+			return new GUIEntryBuilder().setItem(item::clone).build();
+		});
 	}
 
 	public Optional<GUIEntryFunction<GUIPage, Player, GUIEntry>> getNextArrow() {
-		return Optional.of((page, player) -> new GUIEntryBuilder().setItem(() -> new ItemBuilder(XMaterial.ARROW).setName(ChatUtil.format("&b&lNEXT PAGE >>")).toItemStack()).build());
+		return Optional.of((page, player) -> {
+			ItemStack item = this.getStockItem("next", () -> new ItemBuilder(XMaterial.ARROW).setName(ChatUtil.format("&b&lNEXT PAGE >>")).toItemStack());
+			return new GUIEntryBuilder().setItem(item::clone).build();
+		});
 	}
 
 	public Optional<GUIEntryFunction<GUIPage, Player, GUIEntry>> getPreviousArrow() {
-		return Optional.of((page, player) -> new GUIEntryBuilder().setItem(() -> new ItemBuilder(XMaterial.ARROW).setName(ChatUtil.format("&b&l<< PREVIOUS PAGE")).toItemStack()).build());
+		return Optional.of((page, player) -> {
+			ItemStack item = this.getStockItem("previous", () -> new ItemBuilder(XMaterial.ARROW).setName(ChatUtil.format("&b&l<< PREVIOUS PAGE")).toItemStack());
+			return new GUIEntryBuilder().setItem(item::clone).build();
+		});
 	}
 
-	@Override
-	public @NotNull Inventory getInventory() {
-		return inventory;
-	}
+	// Stock buttons look the same for every instance of a GUI class, so their items are built once and handed out as copies
+	protected ItemStack getStockItem(String key, Supplier<ItemStack> factory) {
+		Map<String, ItemStack> items = STOCK_ITEMS.computeIfAbsent(this.getClass(), k -> new LinkedHashMap<String, ItemStack>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ItemStack> eldest) {
+				return this.size() > MAX_STOCK_ITEMS;
+			}
+		});
 
-	@Override
-	public boolean equals(Object o) {
-		if (this == o) return true;
-		if (o == null || getClass() != o.getClass()) return false;
+		return items.computeIfAbsent(key, k -> factory.get()).clone();
+	}
 
-		GUI gui = (GUI) o;
-		return inventory.equals(gui.inventory);
+	public Inventory getInventory(Player viewer) {
+		GUIWorker worker = workers.get(viewer.getUniqueId());
+		return worker == null || worker.isDeleted() ? null : worker.getInventory();
 	}
 
+	// Every session renders into its own inventory, so this only finds the rendered one while exactly one session is open
 	@Override
-	public int hashCode() {
-		return Objects.hash(inventory);
+	@Deprecated
+	public @NotNull Inventory getInventory() {
+		GUIWorker open = null;
+		for (GUIWorker worker : workers.values()) {
+			if (worker.isDeleted() || worker == open) continue;
+			if (open != null) {
+				open = null;
+				break;
+			}
+
+			open = worker;
+		}
+
+		if (open != null) return open.getInventory();
+
+		if (inventory == null) {
+			SpigotPlugin.getInstance().getLogger().warning(this.getClass().getSimpleName() + "#getInventory() was called without a single open session, "
+					+ "it returns an empty inventory that nobody sees. Use getInventory(Player) instead.");
+			inventory = Bukkit.createInventory(this, rows * 9, ChatUtil.format(title));
+		}
+
+		return inventory;
 	}
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
+import gg.xcodiq.pixel.library.gui.page.GUIPage;
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+
+@Getter
+public class GUIFrame {
+
+	private final int pageNumber;
+	private final GUIPage page;
+	private final String title;
+
+	// A fully compiled page: the slot table and the items to show, ready to be written in bulk
+	private final GUIEntry[] entries;
+	private final ItemStack[] items;
+	// Slots whose async entry already has its final item, so it doesn't have to be prepared again
+	private final BitSet prepared = new BitSet();
+
+	public GUIFrame(int pageNumber, GUIPage page, String title, int size) {
+		this(pageNumber, page, title, new GUIEntry[size], new ItemStack[size]);
+	}
+
+	public GUIFrame(int pageNumber, GUIPage page, String title, GUIEntry[] entries, ItemStack[] items) {
+		this.pageNumber = pageNumber;
+		this.page = page;
+		this.title = title;
+		this.entries = entries;
+		this.items = items;
+	}
+
+	public void set(int slot, GUIEntry entry, ItemStack item) {
+		if (slot < 0 || slot >= this.entries.length) return;
+
+		this.entries[slot] = entry;
+		this.items[slot] = item;
+	}
+
+	public int firstEmpty() {
+		for (int slot = 0; slot < this.entries.length; slot++) {
+			if (this.entries[slot] == null && this.items[slot] == null) return slot;
+		}
+
+		return -1;
+	}
+
+	public int getSize() {
+		return this.entries.length;
+	}
+}
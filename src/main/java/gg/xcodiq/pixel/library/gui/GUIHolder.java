@@ -0,0 +1,53 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+// Holds every pooled GUI inventory, pooled inventories move between GUIs so the GUI showing one is looked up when asked for
+public class GUIHolder implements InventoryHolder {
+
+	private Inventory inventory;
+
+	void setInventory(Inventory inventory) {
+		this.inventory = inventory;
+	}
+
+	public GUIWorker getWorker() {
+		return GUIRegistry.getWorker(this.inventory);
+	}
+
+	public GUI getGui() {
+		GUIWorker worker = this.getWorker();
+		return worker == null ? null : worker.getGui();
+	}
+
+	@Override
+	public @NotNull Inventory getInventory() {
+		return this.inventory;
+	}
+}
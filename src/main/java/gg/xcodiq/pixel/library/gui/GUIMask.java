@@ -0,0 +1,81 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+
+@Getter
+public class GUIMask {
+
+	// One bit per slot, a double chest has 54 slots so every GUI fits in a long
+	private final long slots;
+	private final ItemStack item;
+
+	public GUIMask(long slots, ItemStack item) {
+		this.slots = slots;
+		this.item = item;
+	}
+
+	public static GUIMask of(ItemStack item, int... slots) {
+		long bits = 0;
+		for (int slot : slots) {
+			if (slot >= 0 && slot < 64) bits |= 1L << slot;
+		}
+
+		return new GUIMask(bits, item);
+	}
+
+	public static long borderSlots(int rows) {
+		if (rows < 3) return 0;
+
+		long bits = 0;
+		for (int i = 0; i <= 8; i++) bits |= 1L << i;
+
+		for (int i = 8; i < (rows * 9) - 9; i += 9) {
+			bits |= 1L << i;
+			bits |= 1L << (i + 1);
+		}
+
+		for (int i = (rows * 9) - 9; i < rows * 9; i++) bits |= 1L << i;
+
+		return bits;
+	}
+
+	public boolean contains(int slot) {
+		return slot >= 0 && slot < 64 && (this.slots & (1L << slot)) != 0;
+	}
+
+	public void applyTo(GUIFrame frame) {
+		ItemStack[] items = frame.getItems();
+
+		for (long bits = this.slots; bits != 0; bits &= bits - 1) {
+			int slot = Long.numberOfTrailingZeros(bits);
+			if (slot >= items.length) break;
+
+			items[slot] = this.item;
+		}
+	}
+}
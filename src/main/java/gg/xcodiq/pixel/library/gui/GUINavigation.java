@@ -0,0 +1,146 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+public class GUINavigation {
+
+	private static final int MAX_DEPTH = 8;
+	private static final int MAX_CACHED_FRAMES = 2048;
+	private static final long MAX_AGE = TimeUnit.MINUTES.toNanos(10);
+
+	// The menus every player came from, the most recent one first
+	private static final HashMap<UUID, ArrayDeque<Step>> stacks = new HashMap<>();
+	private static int cachedFrames = 0;
+
+	// Opens the GUI as a child of the menu the player is looking at, so back() can return to that exact menu
+	public static void open(Player player, GUI gui, int pageNumber) {
+		Preconditions.checkNotNull(gui, "GUI cannot be null");
+
+		GUIWorker parent = GUIRegistry.getWorker(player.getUniqueId());
+		if (parent != null && !parent.isDeleted()) push(player.getUniqueId(), new Step(parent.getGui(), parent.snapshot(), parent.getRevision()));
+
+		gui.open(player, pageNumber);
+	}
+
+	public static void open(Player player, GUI gui) {
+		open(player, gui, 1);
+	}
+
+	// Restores the parent menu from its rendered frame, without running any item supplier again, as long as its definition didn't change
+	public static boolean back(Player player) {
+		ArrayDeque<Step> stack = stacks.get(player.getUniqueId());
+		Step step = null;
+
+		while (stack != null && !stack.isEmpty()) {
+			Step candidate = stack.pop();
+			cachedFrames--;
+
+			if (System.nanoTime() - candidate.cachedAt <= MAX_AGE) {
+				step = candidate;
+				break;
+			}
+		}
+
+		if (stack != null && stack.isEmpty()) stacks.remove(player.getUniqueId());
+		if (step == null) return false;
+
+		// A rebuilt or outdated definition composes the page again instead of showing the frame of the old one
+		step.gui.initialize();
+		if (step.revision != step.gui.getRevision()) step.gui.open(player, step.frame.getPageNumber());
+		else step.gui.open(player, step.frame.getPageNumber(), step.frame);
+		return true;
+	}
+
+	public static int getDepth(UUID player) {
+		ArrayDeque<Step> stack = stacks.get(player);
+		return stack == null ? 0 : stack.size();
+	}
+
+	public static void clear(UUID player) {
+		ArrayDeque<Step> stack = stacks.remove(player);
+		if (stack != null) cachedFrames -= stack.size();
+	}
+
+	public static void clear() {
+		stacks.clear();
+		cachedFrames = 0;
+	}
+
+	private static void push(UUID player, Step step) {
+		ArrayDeque<Step> stack = stacks.computeIfAbsent(player, k -> new ArrayDeque<>());
+		stack.push(step);
+		cachedFrames++;
+
+		if (stack.size() > MAX_DEPTH) {
+			stack.removeLast();
+			cachedFrames--;
+		}
+
+		// Over the global limit the oldest frame of any player goes first
+		while (cachedFrames > MAX_CACHED_FRAMES) evictOldest();
+	}
+
+	private static void evictOldest() {
+		Map.Entry<UUID, ArrayDeque<Step>> oldest = null;
+
+		for (Map.Entry<UUID, ArrayDeque<Step>> entry : stacks.entrySet()) {
+			if (oldest == null || entry.getValue().getLast().cachedAt < oldest.getValue().getLast().cachedAt) oldest = entry;
+		}
+
+		if (oldest == null) {
+			cachedFrames = 0;
+			return;
+		}
+
+		oldest.getValue().removeLast();
+		cachedFrames--;
+
+		if (oldest.getValue().isEmpty()) stacks.remove(oldest.getKey());
+	}
+
+	private static class Step {
+
+		private final GUI gui;
+		private final GUIFrame frame;
+		// Revision of the definition the frame was composed from
+		private final int revision;
+		private final long cachedAt = System.nanoTime();
+
+		private Step(GUI gui, GUIFrame frame, int revision) {
+			this.gui = gui;
+			this.frame = frame;
+			this.revision = revision;
+		}
+	}
+}
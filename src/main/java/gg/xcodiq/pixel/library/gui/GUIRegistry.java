@@ -0,0 +1,141 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import gg.xcodiq.pixel.library.SpigotPlugin;
+import gg.xcodiq.pixel.library.gui.entry.ClickLimiter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.UUID;
+
+public class GUIRegistry {
+
+	private static final long LEAK_CHECK_INTERVAL = 20L * 60 * 5;
+
+	private static final HashMap<Inventory, GUIWorker> workersByInventory = new HashMap<>();
+	// Keyed by UUID, so the registry never keeps a player object alive after they left
+	private static final HashMap<UUID, GUIWorker> workersByViewer = new HashMap<>();
+
+	private static BukkitTask leakCheckTask;
+
+	public static GUIWorker getWorker(Inventory inventory) {
+		return inventory == null ? null : workersByInventory.get(inventory);
+	}
+
+	public static GUIWorker getWorker(UUID viewer) {
+		return workersByViewer.get(viewer);
+	}
+
+	public static int getWorkerCount() {
+		return workersByInventory.size();
+	}
+
+	static void register(GUIWorker worker) {
+		workersByInventory.put(worker.getInventory(), worker);
+	}
+
+	static void unregister(GUIWorker worker) {
+		workersByInventory.remove(worker.getInventory(), worker);
+		worker.getViewers().forEach(viewer -> workersByViewer.remove(viewer, worker));
+	}
+
+	static void trackViewer(UUID viewer, GUIWorker worker) {
+		workersByViewer.put(viewer, worker);
+	}
+
+	static void untrackViewer(UUID viewer, GUIWorker worker) {
+		workersByViewer.remove(viewer, worker);
+	}
+
+	public static void purgeViewer(Player player) {
+		// Cached parent menus and click limits are useless once the player is gone
+		GUINavigation.clear(player.getUniqueId());
+		ClickLimiter.purge(player.getUniqueId());
+
+		GUIWorker worker = workersByViewer.remove(player.getUniqueId());
+		if (worker == null) return;
+
+		worker.removeViewer(player.getUniqueId());
+		worker.getGui().removeFromWorkers(player.getUniqueId(), worker);
+	}
+
+	public static void startLeakCheck(SpigotPlugin plugin) {
+		if (leakCheckTask != null) return;
+
+		leakCheckTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+			int purged = checkForLeaks();
+			if (purged > 0) plugin.getLogger().warning("Purged " + purged + " orphaned GUI worker(s)");
+		}, LEAK_CHECK_INTERVAL, LEAK_CHECK_INTERVAL);
+	}
+
+	public static int checkForLeaks() {
+		int purged = 0;
+
+		for (GUIWorker worker : new ArrayList<>(workersByInventory.values())) {
+			if (!worker.isDeleted()) {
+				// A viewer that left or is looking at another inventory won't ever fire a close event for this one
+				for (UUID viewer : new ArrayList<>(worker.getViewers())) {
+					Player player = Bukkit.getPlayer(viewer);
+					if (player != null && worker.getInventory().equals(player.getOpenInventory().getTopInventory())) continue;
+
+					worker.removeViewer(viewer);
+					worker.getGui().removeFromWorkers(viewer, worker);
+				}
+
+				if (!worker.isDeleted()) continue;
+			}
+
+			unregister(worker);
+			purged++;
+		}
+
+		return purged;
+	}
+
+	public static void shutdown() {
+		if (leakCheckTask != null) leakCheckTask.cancel();
+		leakCheckTask = null;
+
+		// Close every GUI that is still open, their actions can't run anymore once the plugin is gone
+		for (GUIWorker worker : new ArrayList<>(workersByInventory.values())) {
+			for (UUID viewer : new ArrayList<>(worker.getViewers())) {
+				Player player = Bukkit.getPlayer(viewer);
+				if (player != null) player.closeInventory();
+			}
+
+			worker.deleteGUIWorker();
+		}
+
+		workersByInventory.clear();
+		workersByViewer.clear();
+		GUINavigation.clear();
+		InventoryPool.shared().clear();
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import gg.xcodiq.pixel.library.SpigotPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+public class GUIScheduler {
+
+	// Every worker with refreshing entries, serviced by one repeating task instead of a task per menu.
+	// An identity set, so registering again on every flip or scroll doesn't scan every worker
+	private static final Set<GUIWorker> workers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private static BukkitTask task;
+	private static long tick = 0;
+
+	public static void register(GUIWorker worker) {
+		if (worker.isDeleted() || !workers.add(worker)) return;
+
+		if (task == null) task = Bukkit.getScheduler().runTaskTimer(SpigotPlugin.getInstance(), GUIScheduler::tick, 1L, 1L);
+	}
+
+	public static int getWorkerCount() {
+		return workers.size();
+	}
+
+	public static void shutdown() {
+		if (task != null) task.cancel();
+
+		task = null;
+		workers.clear();
+	}
+
+	private static void tick() {
+		tick++;
+
+		// Closed workers and workers without refreshing entries are dropped here
+		workers.removeIf(worker -> worker.isDeleted() || !worker.hasRefreshingEntries());
+
+		for (GUIWorker worker : workers) worker.tickRefresh(tick);
+
+		if (workers.isEmpty()) {
+			task.cancel();
+			task = null;
+		}
+	}
+}
@@ -26,171 +26,643 @@ package gg.xcodiq.pixel.library.gui;
 
 import com.cryptomorin.xseries.XSound;
 import com.google.common.base.Preconditions;
+import gg.xcodiq.pixel.library.SpigotPlugin;
+import gg.xcodiq.pixel.library.gui.entry.ClickActionTable;
+import gg.xcodiq.pixel.library.gui.entry.ClickLimiter;
 import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
+import gg.xcodiq.pixel.library.gui.entry.GUIValue;
 import gg.xcodiq.pixel.library.gui.event.GUIClickEvent;
 import gg.xcodiq.pixel.library.gui.page.GUIPage;
+import gg.xcodiq.pixel.library.gui.timing.GUITimings;
+import gg.xcodiq.pixel.library.util.ChatUtil;
+import gg.xcodiq.pixel.library.util.ReflectionUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.Bukkit;
+import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerKickEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Objects;
+import java.lang.reflect.Method;
+import java.util.*;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.IntStream;
 
 @Getter
 public class GUIWorker {
 
-	private static final HashMap<Inventory, GUIWorker> workingGUIs = new HashMap<>();
-	private static final HashMap<Integer, GUIEntry> entriesBySlot = new HashMap<>();
+	private static final Sound PAGE_SOUND = XSound.BLOCK_WOODEN_BUTTON_CLICK_ON.parseSound();
+	private static final Sound CLOSE_SOUND = XSound.BLOCK_CHEST_CLOSE.parseSound();
+
+	// Only newer platforms can change the title of an open inventory
+	private static final Method SET_VIEW_TITLE = ReflectionUtil.findMethod(InventoryView.class, "setTitle", String.class);
 
 	private final GUI gui;
 	private final Inventory inventory;
-	private final Player player;
+	// The player the worker was opened for, kept as a UUID so a shared worker never pins them after they left
+	private final UUID owner;
+	private final List<UUID> viewers = new ArrayList<>();
+
+	// Slot table of this viewer, indexed by the raw slot of the top inventory
+	private final GUIEntry[] slots;
+
+	// Last item written to every slot, used to skip writes that would not change anything
+	private final ItemStack[] rendered;
+	private final BitSet dirtySlots = new BitSet();
+	// Slots holding async entries whose item still has to be prepared off the main thread
+	private final BitSet pendingSlots = new BitSet();
+	private boolean flushScheduled = false;
+	private boolean deleted = false;
+
+	// Slots of entries that refresh themselves, with their interval in ticks
+	private int[] refreshSlots = new int[0];
+	private long[] refreshIntervals = new long[0];
+	private final int refreshPhase = System.identityHashCode(this) & 0xFFFF;
+
+	// The frame currently shown and the neighbouring pages compiled ahead of time
+	private GUIFrame frame;
+	private final HashMap<Integer, GUIFrame> prefetched = new HashMap<>();
+	// Entries, masks and close button of a scrolling GUI without its content, the part of the frame scrolling never moves
+	@Getter(AccessLevel.NONE)
+	private GUIFrame chrome;
+	// Revision of the GUI definition the frames above were composed from
+	private int revision;
+
+	// Handles that unsubscribe this worker from the values its entries are bound to
+	private final List<Runnable> bindings = new ArrayList<>();
+
+	public GUIWorker(GUI gui, Inventory inventory, GUIPage page, Player player) {
+		this(gui, inventory, page, null, player);
+	}
+
+	GUIWorker(GUI gui, Inventory inventory, GUIFrame frame, Player player) {
+		this(gui, inventory, frame.getPage(), frame, player);
+	}
 
-	public GUIWorker(GUI gui, GUIPage page, Player player) {
+	private GUIWorker(GUI gui, Inventory inventory, GUIPage page, GUIFrame frame, Player player) {
 		Preconditions.checkNotNull(gui, "GUI cannot be null");
-		Preconditions.checkNotNull(gui.getInventory(), "Inventory cannot be null");
+		Preconditions.checkNotNull(inventory, "Inventory cannot be null");
 		Preconditions.checkNotNull(player, "Player cannot be null");
 
 		this.gui = gui;
-		this.inventory = gui.getInventory();
-		this.player = player;
+		this.inventory = inventory;
+		this.owner = player.getUniqueId();
+		this.revision = gui.getRevision();
+		this.slots = new GUIEntry[this.inventory.getSize()];
+		this.rendered = new ItemStack[this.inventory.getSize()];
 
-		GUIWorker.entriesBySlot.clear();
+		GUITimings.time(gui.getClass(), GUITimings.Phase.SETUP, () -> this.setupInventory(frame != null ? frame : this.compose(page, page == null ? 1 : gui.getPageNumber(page))));
+		GUITimings.time(gui.getClass(), GUITimings.Phase.OPEN, () -> this.openInventory(player));
 
-		this.setupInventory(page);
-		this.openInventory();
+		// Readers page forward, so the first flip of a session can already use a prefetched frame
+		this.schedulePrefetch(this.frame.getPageNumber() + 1);
 	}
 
 	private static GUIWorker fromInventory(Inventory inventory) {
-		return workingGUIs.get(inventory);
+		return GUIRegistry.getWorker(inventory);
+	}
+
+	private void setupInventory(GUIFrame frame) {
+		this.frame = frame;
+
+		// Slots the frame marks as prepared already hold the final item of their async entry
+		BitSet prepared = frame.getPrepared();
+
+		GUIEntry[] entries = frame.getEntries();
+		ItemStack[] items = frame.getItems();
+
+		for (int slot = 0; slot < this.slots.length && slot < entries.length; slot++) {
+			this.slots[slot] = entries[slot];
+			this.writeSlot(slot, items[slot]);
+
+			if (entries[slot] != null && entries[slot].isAsync() && !prepared.get(slot)) this.pendingSlots.set(slot);
+		}
+
+		this.prepareAsyncItems();
+		this.collectRefreshingEntries();
+		this.bindValues();
+	}
+
+	private void collectRefreshingEntries() {
+		int count = 0;
+		for (GUIEntry entry : this.slots) {
+			if (entry != null && entry.getRefreshInterval() > 0) count++;
+		}
+
+		this.refreshSlots = new int[count];
+		this.refreshIntervals = new long[count];
+
+		for (int slot = 0, i = 0; slot < this.slots.length && i < count; slot++) {
+			GUIEntry entry = this.slots[slot];
+			if (entry == null || entry.getRefreshInterval() <= 0) continue;
+
+			this.refreshSlots[i] = slot;
+			this.refreshIntervals[i++] = entry.getRefreshInterval();
+		}
+
+		if (count > 0) GUIScheduler.register(this);
+	}
+
+	private void bindValues() {
+		this.releaseBindings();
+
+		for (int slot = 0; slot < this.slots.length; slot++) {
+			GUIEntry entry = this.slots[slot];
+			if (entry == null || entry.getBindings().isEmpty()) continue;
+
+			int target = slot;
+			for (GUIValue<?> value : entry.getBindings()) {
+				this.bindings.add(value.subscribe(() -> this.onValueChanged(target, entry)));
+			}
+		}
+	}
+
+	private void onValueChanged(int slot, GUIEntry entry) {
+		// Values can change on any thread, the slot itself is always re-rendered on the main thread
+		if (!Bukkit.isPrimaryThread()) {
+			Bukkit.getScheduler().runTask(SpigotPlugin.getInstance(), () -> this.onValueChanged(slot, entry));
+			return;
+		}
+
+		if (this.deleted || this.slots[slot] != entry) return;
+
+		entry.invalidate();
+		this.refresh(slot);
+	}
+
+	private void releaseBindings() {
+		this.bindings.forEach(Runnable::run);
+		this.bindings.clear();
+	}
+
+	boolean hasRefreshingEntries() {
+		return this.refreshSlots.length > 0;
 	}
 
-	private void setupInventory(GUIPage page) {
-//		LagCatcher.reset("GUIWorker " + page.getTitle());
+	void tickRefresh(long tick) {
+		boolean dirty = false;
+
+		// The phase spreads workers with the same interval over different ticks
+		for (int i = 0; i < this.refreshSlots.length; i++) {
+			if ((tick + this.refreshPhase) % this.refreshIntervals[i] != 0) continue;
+
+			this.dirtySlots.set(this.refreshSlots[i]);
+			dirty = true;
+		}
+
+		if (dirty) this.flush();
+	}
+
+	// Compiles a page into a frame without touching the inventory, so it can also be done ahead of time
+	private GUIFrame compose(GUIPage page, int pageNumber) {
+		GUIFrame frame = this.composeEntries(page, pageNumber);
+		if (page != null) this.composeArrows(frame, page, pageNumber);
+		this.composeCloseButton(frame, page);
+
+		return frame;
+	}
+
+	private GUIFrame composeEntries(GUIPage page, int pageNumber) {
 		int rows = this.gui.getRows();
-		LinkedList<GUIPage> pages = this.gui.getPages();
+		GUIFrame frame = new GUIFrame(pageNumber, page, page == null ? this.gui.getTitle() : page.getTitle(), rows * 9);
+
+		// Static decorations go first, in bulk, so entries can still be placed over them
+		for (GUIMask mask : this.gui.getMasks()) mask.applyTo(frame);
+		if (page != null) {
+			for (GUIMask mask : page.getMasks()) mask.applyTo(frame);
+
+			GUIMask borders = page.isFillBorders() ? this.gui.getBorderMask() : null;
+			if (borders != null) borders.applyTo(frame);
+		}
 
-		this.gui.getEntries().stream().filter(Objects::nonNull).collect(Collectors.toList()).forEach(this::setEntry);
+		for (GUIEntry entry : this.gui.getEntries()) {
+			if (entry != null) this.setEntry(frame, entry, entry.getSlot());
+		}
 
 		if (page != null) {
-			int currentPage = this.gui.getPageNumber(page);
-			page.getEntries().stream().filter(Objects::nonNull).collect(Collectors.toList()).forEach(this::setEntry);
+			for (GUIEntry entry : page.getEntries()) {
+				if (entry != null) this.setEntry(frame, entry, page.getSlot(entry));
+			}
+		}
 
-			// PREVIOUS ARROW
-			if (currentPage != 1) {
-				this.gui.getPreviousArrow().ifPresent(f -> {
-					GUIEntry entry = f.compile(page, this.player).onAllClicks((player, event) -> {
-						GUIWorker before = GUIWorker.fromInventory(this.inventory);
-						if (before != null && workingGUIs.containsValue(before)) before.deleteGUIWorker();
+		return frame;
+	}
 
-						player.playSound(player.getLocation(), XSound.BLOCK_WOODEN_BUTTON_CLICK_ON.parseSound(), 1.0f, 1.0f);
-						this.gui.open(player, currentPage - 1);
-					});
+	private void composeArrows(GUIFrame frame, GUIPage page, int pageNumber) {
+		int rows = this.gui.getRows();
 
-					this.setEntryInSlot((rows * 9) - 6, entry);
+		// PREVIOUS ARROW
+		if (pageNumber != 1) {
+			this.gui.getPreviousArrow().ifPresent(f -> {
+				GUIEntry entry = f.compile(page, this.getComposingPlayer()).onAllClicks((player, event) -> {
+					if (PAGE_SOUND != null) player.playSound(player.getLocation(), PAGE_SOUND, 1.0f, 1.0f);
+					event.getWorker().flipTo(player, pageNumber - 1);
 				});
-			} else this.gui.getEmptyArrow().ifPresent(f -> {
-				GUIEntry entry = f.compile(page, this.player).setClickActions(new HashMap<>());
 
-				this.setEntryInSlot((rows * 9) - 6, entry);
+				this.setEntryInSlot(frame, (rows * 9) - 6, entry);
 			});
+		} else this.gui.getEmptyArrow().ifPresent(f -> {
+			GUIEntry entry = f.compile(page, this.getComposingPlayer()).setClickActions(ClickActionTable.EMPTY);
 
-			// NEXT ARROW
-			if (currentPage != pages.size()) {
-				this.gui.getNextArrow().ifPresent(f -> {
-					GUIEntry entry = f.compile(page, this.player).onAllClicks((player, event) -> {
-						GUIWorker before = GUIWorker.fromInventory(this.inventory);
-						if (before != null && workingGUIs.containsValue(before)) before.deleteGUIWorker();
-
-						player.playSound(player.getLocation(), XSound.BLOCK_WOODEN_BUTTON_CLICK_ON.parseSound(), 1.0f, 1.0f);
-						this.gui.open(player, currentPage + 1);
-					});
+			this.setEntryInSlot(frame, (rows * 9) - 6, entry);
+		});
 
-					this.setEntryInSlot((rows * 9) - 4, entry);
+		// NEXT ARROW
+		if (pageNumber < this.gui.getPageCount()) {
+			this.gui.getNextArrow().ifPresent(f -> {
+				GUIEntry entry = f.compile(page, this.getComposingPlayer()).onAllClicks((player, event) -> {
+					if (PAGE_SOUND != null) player.playSound(player.getLocation(), PAGE_SOUND, 1.0f, 1.0f);
+					event.getWorker().flipTo(player, pageNumber + 1);
 				});
-			} else this.gui.getEmptyArrow().ifPresent(f -> {
-				GUIEntry entry = f.compile(page, this.player).setClickActions(new HashMap<>());
 
-				this.setEntryInSlot((rows * 9) - 4, entry);
+				this.setEntryInSlot(frame, (rows * 9) - 4, entry);
 			});
-		} else {
-			// Loop through all the entries of the given GUI
-			this.gui.getEntries().stream().filter(Objects::nonNull).collect(Collectors.toList()).forEach(this::setEntry);
-		}
+		} else this.gui.getEmptyArrow().ifPresent(f -> {
+			GUIEntry entry = f.compile(page, this.getComposingPlayer()).setClickActions(ClickActionTable.EMPTY);
+
+			this.setEntryInSlot(frame, (rows * 9) - 4, entry);
+		});
+	}
+
+	private void composeCloseButton(GUIFrame frame, GUIPage page) {
+		int rows = this.gui.getRows();
 
 		// CLOSE BUTTON
 		this.gui.getCloseButton().ifPresent(f -> {
-			GUIEntry entry = f.compile(page, this.player).onAllClicks((player, event) -> {
-				player.playSound(player.getLocation(), XSound.BLOCK_CHEST_CLOSE.parseSound(), 1.0f, 1.0f);
+			GUIEntry entry = f.compile(page, this.getComposingPlayer()).onAllClicks((player, event) -> {
+				if (CLOSE_SOUND != null) player.playSound(player.getLocation(), CLOSE_SOUND, 1.0f, 1.0f);
 				player.closeInventory();
 			});
 
 			int slot = entry.getSlot() == -1 ? (rows * 9) - 5 : entry.getSlot();
-			this.setEntryInSlot(slot, entry);
+			this.setEntryInSlot(frame, slot, entry);
 		});
+	}
 
-		// Finish the setup
-		pages.clear();
+	private void setEntry(GUIFrame frame, GUIEntry entry, int slot) {
+		// Entries without a slot take the first free one of this frame, the entry itself is shared and stays untouched
+		if (slot == -1) slot = frame.firstEmpty();
+		frame.set(slot, entry, this.initialItem(entry));
 	}
 
-	private void setEntry(GUIEntry entry) {
-		// Check if the slot of the entry is null
-		if (entry.getSlot() != -1) {
-			this.inventory.setItem(entry.getSlot(), entry.getItem());
-			GUIWorker.entriesBySlot.put(entry.getSlot(), entry);
-		} else {
-			this.inventory.addItem(entry.getItem());
+	private void setEntryInSlot(GUIFrame frame, int slot, GUIEntry entry) {
+		if (entry.getSlot() != -1) slot = entry.getSlot();
+		else if (this.gui.getRows() <= 2) slot = frame.firstEmpty();
+
+		frame.set(slot, entry, this.initialItem(entry));
+	}
+
+	public void flipTo(Player viewer, int pageNumber) {
+		// The definition might have been rebuilt since this page was composed, frames of the old one can't be reused then
+		boolean rebuilt = this.syncRevision();
+		// Arrows composed before a rebuild can point at pages that no longer exist
+		pageNumber = Math.max(1, Math.min(pageNumber, this.gui.getPageCount()));
+
+		if (!rebuilt && this.gui instanceof ScrollingGUI && this.canFlipInPlace(viewer) && this.scroll((ScrollingGUI<?>) this.gui, viewer, pageNumber)) return;
+
+		GUIFrame target = this.prefetched.get(pageNumber);
+		GUIFrame current = rebuilt ? null : this.snapshot();
+
+		// The page we leave is kept, so only the next one in the direction of travel has to be prefetched
+		int direction = Integer.signum(pageNumber - this.frame.getPageNumber());
 
-			int slot = this.inventory.first(entry.getItem());
-			entry.setSlot(slot);
+		if (this.canFlipInPlace(viewer)) {
+			if (target == null) target = this.compose(this.gui.getPage(pageNumber), pageNumber);
 
-			GUIWorker.entriesBySlot.put(slot, entry);
+			// Keep the open inventory and only rewrite the slots that differ
+			if (target.getSize() == this.slots.length && this.updateTitle(viewer, target.getTitle())) {
+				this.prefetched.clear();
+				if (current != null && current.getPage() != null) this.prefetched.put(current.getPageNumber(), current);
+
+				this.setupInventory(target);
+				this.schedulePrefetch(pageNumber + direction);
+				return;
+			}
 		}
+
+		this.removeViewer(viewer);
+
+		// Hand the page we're leaving to the new worker, so flipping back is just as cheap
+		GUIWorker next = this.gui.open(viewer, pageNumber, target);
+		if (next == null || next == this) return;
+
+		if (current != null && current.getPage() != null) next.prefetched.putIfAbsent(current.getPageNumber(), current);
+		next.schedulePrefetch(pageNumber + direction);
 	}
 
-	private void setEntryInSlot(int slot, GUIEntry entry) {
-		if (entry.getSlot() != -1) {
-			this.inventory.setItem(entry.getSlot(), entry.getItem());
-		} else {
-			if (this.gui.getRows() <= 2) this.inventory.addItem(entry.getItem());
-			else this.inventory.setItem(slot, entry.getItem());
+	private boolean syncRevision() {
+		this.gui.initialize();
+		if (this.revision == this.gui.getRevision()) return false;
+
+		this.revision = this.gui.getRevision();
+		this.prefetched.clear();
+		this.chrome = null;
+		return true;
+	}
+
+	// Moves the viewport of a scrolling GUI by shifting the content that stays visible, only the exposed rows and the arrows are built
+	private boolean scroll(ScrollingGUI<?> gui, Player viewer, int topRow) {
+		// The current frame is reused as it is, so the GUI must still have the size it was composed for
+		if (gui.getRows() * 9 != this.slots.length) return false;
+
+		int delta = topRow - this.frame.getPageNumber();
+		int[][] content = gui.getContentRows();
+		int viewport = content.length;
+		if (delta == 0 || Math.abs(delta) >= viewport || topRow < 1 || topRow > gui.getPageCount()) return false;
+
+		GUIPage page = gui.getPage(topRow, false);
+		if (!this.updateTitle(viewer, page.getTitle())) return false;
+
+		// The entries and masks of the GUI itself never move, so what lies under the arrows is composed once per definition
+		if (this.chrome == null) {
+			this.chrome = this.composeEntries(page, topRow);
+			this.composeCloseButton(this.chrome, page);
+		}
+
+		GUIFrame target = new GUIFrame(topRow, page, page.getTitle(), this.slots.clone(), this.rendered.clone());
+		BitSet reused = target.getPrepared();
+		reused.set(0, this.slots.length);
+
+		for (int row = 0; row < viewport; row++) {
+			int from = row + delta;
+
+			if (from >= 0 && from < viewport) {
+				for (int column = 0; column < content[row].length; column++) {
+					int slot = content[row][column], source = content[from][column];
+					target.set(slot, this.slots[source], this.rendered[source]);
+
+					// Async items might still be on their way to the old slot, so those are prepared again
+					if (this.slots[source] != null && this.slots[source].isAsync()) reused.clear(slot);
+				}
+				continue;
+			}
+
+			GUIEntry[] entries = gui.getRow(topRow - 1 + row);
+			for (int column = 0; column < content[row].length; column++) {
+				int slot = content[row][column];
+				GUIEntry entry = entries[column];
+
+				target.set(slot, entry, entry == null ? null : this.initialItem(entry));
+				reused.clear(slot);
+			}
 		}
 
-		GUIWorker.entriesBySlot.put(entry.getSlot() == -1 ? inventory.first(entry.getItem()) : entry.getSlot(), entry);
+		// Only the arrows depend on the position, they're composed again on top of what lies under them
+		for (int slot : new int[]{this.slots.length - 6, this.slots.length - 4}) {
+			target.set(slot, this.chrome.getEntries()[slot], this.chrome.getItems()[slot]);
+			reused.clear(slot);
+		}
+		this.composeArrows(target, page, topRow);
+
+		this.prefetched.clear();
+		this.setupInventory(target);
+		return true;
 	}
 
-	private void openInventory() {
-		player.openInventory(this.inventory);
-		workingGUIs.put(this.inventory, this);
+	private boolean canFlipInPlace(Player viewer) {
+		return !this.deleted && !this.gui.isSharedView() && this.viewers.size() == 1 && this.viewers.contains(viewer.getUniqueId());
 	}
 
-	public GUIEntry getEntryBySlot(Integer slot) {
-		return entriesBySlot.get(slot);
+	private boolean updateTitle(Player viewer, String title) {
+		if (Objects.equals(this.frame.getTitle(), title)) return true;
+		if (SET_VIEW_TITLE == null) return false;
+
+		try {
+			SET_VIEW_TITLE.invoke(viewer.getOpenInventory(), ChatUtil.format(title));
+			return true;
+		} catch (ReflectiveOperationException ex) {
+			return false;
+		}
 	}
 
-	public void deleteGUIWorker() {
-		workingGUIs.remove(this.inventory, this);
+	GUIFrame snapshot() {
+		return new GUIFrame(this.frame.getPageNumber(), this.frame.getPage(), this.frame.getTitle(), this.slots.clone(), this.rendered.clone());
 	}
 
-	@Override
-	public boolean equals(Object o) {
-		if (this == o) return true;
-		if (o == null || getClass() != o.getClass()) return false;
-		GUIWorker guiWorker = (GUIWorker) o;
-		return Objects.equals(gui, guiWorker.gui) && Objects.equals(inventory, guiWorker.inventory);
+	private void schedulePrefetch(int target) {
+		if (this.frame.getPage() == null || !this.gui.isPrefetchingPages()) return;
+
+		// On a later tick, so opening or paging itself isn't slowed down
+		Bukkit.getScheduler().runTask(SpigotPlugin.getInstance(), () -> this.prefetchPage(target));
+	}
+
+	private void prefetchPage(int target) {
+		if (this.deleted || this.syncRevision()) return;
+		if (target < 1 || target > this.gui.getPageCount() || target == this.frame.getPageNumber()) return;
+		if (this.prefetched.containsKey(target)) return;
+
+		GUIPage page = this.gui.getPage(target);
+		if (page == null) return;
+
+		GUIFrame frame = this.compose(page, target);
+		this.prefetched.put(target, frame);
+		this.prepareAsyncItems(frame);
+	}
+
+	private void writeSlot(int slot, ItemStack item) {
+		if (slot < 0 || slot >= this.rendered.length) return;
+
+		// Every setItem call sends a slot packet, so only write what actually changed
+		if (Objects.equals(this.rendered[slot], item)) return;
+
+		this.inventory.setItem(slot, item);
+		this.rendered[slot] = item == null ? null : item.clone();
+	}
+
+	private ItemStack initialItem(GUIEntry entry) {
+		if (!entry.isAsync()) return this.evaluate(entry);
+
+		ItemStack placeholder = entry.getPlaceholder();
+		return placeholder != null ? placeholder : this.gui.getPlaceholder();
+	}
+
+	private ItemStack evaluate(GUIEntry entry) {
+		// Every slot goes through here, so don't allocate the timed supplier while timings are off
+		if (!GUITimings.isEnabled()) return entry.getItem();
+
+		return GUITimings.time(this.gui.getClass(), GUITimings.Phase.SUPPLIER, () -> entry.getItem());
+	}
+
+	private void prepareAsyncItems() {
+		if (this.pendingSlots.isEmpty()) return;
+
+		int[] targets = this.pendingSlots.stream().toArray();
+		GUIEntry[] entries = new GUIEntry[targets.length];
+		for (int i = 0; i < targets.length; i++) entries[i] = this.slots[targets[i]];
+
+		this.pendingSlots.clear();
+
+		this.prepareAsync(targets, entries, items -> {
+			if (this.deleted) return;
+
+			for (int i = 0; i < targets.length; i++) {
+				// Skip slots that were failed or re-assigned while the items were being prepared
+				if (items[i] == null || this.slots[targets[i]] != entries[i]) continue;
+
+				this.writeSlot(targets[i], items[i]);
+			}
+		});
+	}
+
+	// Async entries of a prefetched frame are prepared off the main thread too, so the flip can show them right away
+	private void prepareAsyncItems(GUIFrame frame) {
+		GUIEntry[] frameEntries = frame.getEntries();
+		int[] targets = IntStream.range(0, frameEntries.length)
+				.filter(slot -> frameEntries[slot] != null && frameEntries[slot].isAsync())
+				.toArray();
+		if (targets.length == 0) return;
+
+		GUIEntry[] entries = new GUIEntry[targets.length];
+		for (int i = 0; i < targets.length; i++) entries[i] = frameEntries[targets[i]];
+
+		this.prepareAsync(targets, entries, items -> {
+			for (int i = 0; i < targets.length; i++) {
+				if (items[i] == null || frameEntries[targets[i]] != entries[i]) continue;
+
+				frame.set(targets[i], entries[i], items[i]);
+				frame.getPrepared().set(targets[i]);
+			}
+		});
+	}
+
+	private void prepareAsync(int[] targets, GUIEntry[] entries, Consumer<ItemStack[]> apply) {
+		SpigotPlugin plugin = SpigotPlugin.getInstance();
+		Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+			ItemStack[] items = new ItemStack[targets.length];
+
+			for (int i = 0; i < targets.length; i++) {
+				try {
+					items[i] = this.evaluate(entries[i]);
+				} catch (Exception ex) {
+					plugin.getLogger().log(Level.WARNING, "Couldn't prepare the item in slot " + targets[i] + " of " + this.gui.getClass().getSimpleName(), ex);
+				}
+			}
+
+			// Apply every prepared item on the main thread in one pass
+			Bukkit.getScheduler().runTask(plugin, () -> apply.accept(items));
+		});
+	}
+
+	private void openInventory(Player player) {
+		GUIRegistry.register(this);
+		this.addViewer(player);
+	}
+
+	public void addViewer(Player viewer) {
+		if (this.viewers.contains(viewer.getUniqueId())) return;
+
+		viewer.openInventory(this.inventory);
+		this.viewers.add(viewer.getUniqueId());
+		GUIRegistry.trackViewer(viewer.getUniqueId(), this);
 	}
 
-	@Override
-	public int hashCode() {
-		return Objects.hash(gui, inventory);
+	public boolean removeViewer(Player viewer) {
+		return this.removeViewer(viewer.getUniqueId());
+	}
+
+	public boolean removeViewer(UUID viewer) {
+		boolean removed = this.viewers.remove(viewer);
+		if (removed) GUIRegistry.untrackViewer(viewer, this);
+
+		// The rendered inventory lives as long as somebody is looking at it
+		if (removed && this.viewers.isEmpty()) this.deleteGUIWorker();
+		return removed;
+	}
+
+	public Player getPlayer() {
+		return Bukkit.getPlayer(this.owner);
+	}
+
+	// A shared frame is composed for whoever is looking at it now, the owner might have left while others still view it
+	private Player getComposingPlayer() {
+		for (UUID viewer : this.viewers) {
+			Player player = Bukkit.getPlayer(viewer);
+			if (player != null) return player;
+		}
+
+		return this.getPlayer();
+	}
+
+	public GUIEntry getEntryBySlot(int slot) {
+		return slot >= 0 && slot < this.slots.length ? this.slots[slot] : null;
+	}
+
+	public void updateSlot(int slot, ItemStack item) {
+		if (slot < 0 || slot >= this.slots.length) return;
+
+		this.dirtySlots.clear(slot);
+		this.writeSlot(slot, item);
+	}
+
+	public void refresh() {
+		// Whatever changed might be shown on the prefetched pages too
+		this.prefetched.clear();
+
+		for (int slot = 0; slot < this.slots.length; slot++) {
+			if (this.slots[slot] != null) this.dirtySlots.set(slot);
+		}
+
+		this.scheduleFlush();
+	}
+
+	public void refresh(int slot) {
+		if (slot < 0 || slot >= this.slots.length) return;
+
+		this.prefetched.clear();
+		this.dirtySlots.set(slot);
+		this.scheduleFlush();
+	}
+
+	public void flush() {
+		if (this.deleted) {
+			this.dirtySlots.clear();
+			return;
+		}
+
+		for (int slot = this.dirtySlots.nextSetBit(0); slot >= 0; slot = this.dirtySlots.nextSetBit(slot + 1)) {
+			GUIEntry entry = this.slots[slot];
+			if (entry == null) continue;
+
+			if (entry.isAsync()) this.pendingSlots.set(slot);
+			else this.writeSlot(slot, this.evaluate(entry));
+		}
+
+		this.dirtySlots.clear();
+		this.prepareAsyncItems();
+	}
+
+	private void scheduleFlush() {
+		// Merge every refresh requested during this tick into a single flush
+		if (this.flushScheduled || this.deleted) return;
+
+		this.flushScheduled = true;
+		Bukkit.getScheduler().runTask(SpigotPlugin.getInstance(), () -> {
+			this.flushScheduled = false;
+			this.flush();
+		});
+	}
+
+	public void deleteGUIWorker() {
+		if (this.deleted) return;
+
+		this.deleted = true;
+		this.prefetched.clear();
+		this.releaseBindings();
+		GUIRegistry.unregister(this);
+
+		// The closing player is still a viewer while their close event runs, so the inventory goes back to the pool a tick later
+		SpigotPlugin plugin = SpigotPlugin.getInstance();
+		if (plugin.isEnabled()) Bukkit.getScheduler().runTask(plugin, () -> InventoryPool.shared().release(this.inventory));
 	}
 
 	public static class GUIWorkerListener implements Listener {
@@ -198,10 +670,10 @@ public class GUIWorker {
 		@EventHandler
 		public void onInventoryClick(InventoryClickEvent event) {
 			if (event instanceof GUIClickEvent) return;
-			if (!(event.getInventory().getHolder() instanceof GUI)) return;
+			if (!(event.getInventory().getHolder() instanceof GUIHolder)) return;
 
 			if (event.getClickedInventory() == null) return;
-			if (!(event.getClickedInventory().getHolder() instanceof GUI)) return;
+			if (!(event.getClickedInventory().getHolder() instanceof GUIHolder)) return;
 
 			if (event.getCurrentItem() == null) return;
 
@@ -210,20 +682,33 @@ public class GUIWorker {
 			if (worker == null) return;
 
 			event.setCancelled(true);
-			Bukkit.getPluginManager().callEvent(new GUIClickEvent(worker, event));
+			GUIClickEvent clickEvent = new GUIClickEvent(worker, event);
+
+			// Publishing walks every InventoryClickEvent handler again, so only do it when the GUI asks for it
+			if (worker.gui.isPublishClickEvents()) Bukkit.getPluginManager().callEvent(clickEvent);
+			else dispatch(clickEvent);
 		}
 
 		@EventHandler
 		public void onGUIClick(GUIClickEvent event) {
+			dispatch(event);
+		}
+
+		private static void dispatch(GUIClickEvent event) {
 			GUIWorker worker = event.getWorker();
 			Player player = event.getPlayer();
 
 			// Get an entry instance by the clicked slot
-			GUIEntry entry = worker.getEntryBySlot(event.getSlot());
-			if (entry == null || entry.getClickActions().isEmpty()) return;
+			GUIEntry entry = worker.getEntryBySlot(event.getRawSlot());
+			if (entry == null || entry.getClickActionTable().isEmpty()) return;
 
 			BiConsumer<Player, GUIClickEvent> consumer = entry.getClickAction(event.getClick());
-			if (consumer != null) consumer.accept(player, event);
+			if (consumer == null) return;
+
+			// Drop clicks over the limit of the GUI or the entry before running any action
+			if (!ClickLimiter.tryAcquire(player.getUniqueId(), worker.gui.getClickLimiter(), entry.getClickLimiter())) return;
+
+			GUITimings.time(worker.gui.getClass(), GUITimings.Phase.CLICK, () -> consumer.accept(player, event));
 		}
 
 		@EventHandler
@@ -232,11 +717,20 @@ public class GUIWorker {
 
 			// Get an instance of a GUI worker from the closed inventory
 			GUIWorker worker = GUIWorker.fromInventory(event.getInventory());
-			if (worker == null) return;
+			if (worker == null || !worker.removeViewer(player)) return;
 
-			worker.gui.close(player);
 			worker.gui.onClose(worker.gui, event);
 			worker.gui.removeFromWorkers(player, worker);
 		}
+
+		@EventHandler
+		public void onPlayerQuit(PlayerQuitEvent event) {
+			GUIRegistry.purgeViewer(event.getPlayer());
+		}
+
+		@EventHandler
+		public void onPlayerKick(PlayerKickEvent event) {
+			GUIRegistry.purgeViewer(event.getPlayer());
+		}
 	}
 }
@@ -0,0 +1,112 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import gg.xcodiq.pixel.library.util.ChatUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+public class InventoryPool {
+
+	private static final int MAX_IDLE_PER_KEY = 4;
+	private static final int MAX_KEYS = 64;
+
+	// Inventories aren't tied to a GUI, so every GUI and every open draws from the same pool
+	private static final InventoryPool SHARED = new InventoryPool(MAX_KEYS, (size, title) -> {
+		GUIHolder holder = new GUIHolder();
+		Inventory inventory = Bukkit.createInventory(holder, size, ChatUtil.format(title));
+		holder.setInventory(inventory);
+
+		return inventory;
+	});
+
+	private final BiFunction<Integer, String, Inventory> factory;
+
+	// Idle inventories by size and title, both are fixed once an inventory has been created.
+	// Dynamic titles create a key per title, so only the most recently used keys are kept
+	private final LinkedHashMap<String, ArrayDeque<Inventory>> idle;
+	private final Map<Inventory, String> keys = new WeakHashMap<>();
+
+	InventoryPool(int maxKeys, BiFunction<Integer, String, Inventory> factory) {
+		this.factory = factory;
+		this.idle = new LinkedHashMap<String, ArrayDeque<Inventory>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ArrayDeque<Inventory>> eldest) {
+				return this.size() > maxKeys;
+			}
+		};
+	}
+
+	public static InventoryPool shared() {
+		return SHARED;
+	}
+
+	public Inventory acquire(int size, String title) {
+		String key = size + ":" + title;
+		ArrayDeque<Inventory> inventories = this.idle.get(key);
+
+		if (inventories != null) {
+			Inventory inventory;
+			while ((inventory = inventories.poll()) != null) {
+				// Never hand out an inventory somebody is still looking at
+				if (!inventory.getViewers().isEmpty()) {
+					this.keys.remove(inventory);
+					continue;
+				}
+
+				inventory.clear();
+				return inventory;
+			}
+		}
+
+		Inventory inventory = this.factory.apply(size, title);
+		this.keys.put(inventory, key);
+
+		return inventory;
+	}
+
+	public void release(Inventory inventory) {
+		// Only pool what this pool created and nobody is looking at anymore
+		String key = this.keys.get(inventory);
+		if (key == null || !inventory.getViewers().isEmpty()) return;
+
+		ArrayDeque<Inventory> inventories = this.idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+		if (inventories.size() >= MAX_IDLE_PER_KEY || inventories.contains(inventory)) return;
+
+		inventories.push(inventory);
+	}
+
+	public int getIdleCount() {
+		return this.idle.values().stream().mapToInt(ArrayDeque::size).sum();
+	}
+
+	public void clear() {
+		this.idle.clear();
+		this.keys.clear();
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import com.google.common.base.Preconditions;
+import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
+import gg.xcodiq.pixel.library.gui.page.GUIDataProvider;
+import gg.xcodiq.pixel.library.gui.page.GUIPage;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Getter
+public abstract class PaginatedGUI<T> extends GUI {
+
+	@Setter
+	private GUIDataProvider<T> provider;
+
+	public PaginatedGUI(String title, int rows, GUIDataProvider<T> provider) {
+		super(title, rows);
+
+		Preconditions.checkNotNull(provider, "Data provider cannot be null");
+		this.provider = provider;
+	}
+
+	protected abstract GUIEntry toEntry(T element, int index);
+
+	// The slots that hold the provided content, by default every row except the navigation row without the masks
+	public int[] getContentSlots() {
+		int size = Math.max(1, this.getRows() - 1) * 9;
+
+		return IntStream.range(0, size)
+				.filter(slot -> this.getMasks().stream().noneMatch(mask -> mask.contains(slot)))
+				.toArray();
+	}
+
+	public String getPageTitle(int pageNumber) {
+		return this.getTitle();
+	}
+
+	@Override
+	protected GUIPage getPage(int pageNumber) {
+		int[] contentSlots = this.getContentSlots();
+		int number = Math.max(1, Math.min(pageNumber, this.getPageCount()));
+		int offset = (number - 1) * contentSlots.length;
+
+		// Only the visible slice of the data set gets materialized
+		List<T> slice = this.provider.slice(offset, contentSlots.length);
+
+		SlicePage page = new SlicePage(this.getPageTitle(number), this.getRows(), number);
+		for (int i = 0; i < slice.size() && i < contentSlots.length; i++) {
+			GUIEntry entry = this.toEntry(slice.get(i), offset + i);
+			if (entry == null) continue;
+
+			// Every slice entry is fresh, so skip the duplicate check of GUIPage#addItem
+			entry.setSlot(contentSlots[i]);
+			page.getEntries().add(entry);
+		}
+
+		return page;
+	}
+
+	@Override
+	public int getPageNumber(GUIPage page) {
+		return page instanceof SlicePage ? ((SlicePage) page).getNumber() : super.getPageNumber(page);
+	}
+
+	@Override
+	public int getPageCount() {
+		int perPage = Math.max(1, this.getContentSlots().length);
+		return Math.max(1, (this.provider.size() + perPage - 1) / perPage);
+	}
+
+	@Getter
+	private static class SlicePage extends GUIPage {
+
+		private final int number;
+
+		public SlicePage(String title, int rows, int number) {
+			super(title, rows);
+			this.number = number;
+		}
+	}
+}
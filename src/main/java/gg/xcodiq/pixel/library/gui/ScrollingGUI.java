@@ -0,0 +1,183 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import com.cryptomorin.xseries.XMaterial;
+import com.google.common.base.Preconditions;
+import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
+import gg.xcodiq.pixel.library.gui.entry.GUIEntryBuilder;
+import gg.xcodiq.pixel.library.gui.entry.function.GUIEntryFunction;
+import gg.xcodiq.pixel.library.gui.page.GUIDataProvider;
+import gg.xcodiq.pixel.library.gui.page.GUIPage;
+import gg.xcodiq.pixel.library.util.ChatUtil;
+import gg.xcodiq.pixel.library.util.item.ItemBuilder;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+// Shows the provided content as a grid of rows, the arrows move the view one row at a time
+@Getter
+public abstract class ScrollingGUI<T> extends GUI {
+
+	@Setter
+	private GUIDataProvider<T> provider;
+
+	public ScrollingGUI(String title, int rows, GUIDataProvider<T> provider) {
+		super(title, rows);
+
+		Preconditions.checkArgument(rows >= 2, "A scrolling GUI needs at least one content row and the navigation row");
+		Preconditions.checkNotNull(provider, "Data provider cannot be null");
+		this.provider = provider;
+	}
+
+	protected abstract GUIEntry toEntry(T element, int index);
+
+	// The slots of every viewport row that shows content, without the slots of the GUI's own entries and masks.
+	// The navigation row never shows content, and every content row needs the same number of slots to scroll through
+	public int[][] getContentRows() {
+		BitSet chrome = new BitSet();
+		for (GUIEntry entry : this.getEntries()) {
+			if (entry != null && entry.getSlot() >= 0) chrome.set(entry.getSlot());
+		}
+
+		List<int[]> rows = new ArrayList<>();
+		for (int row = 0; row < this.getRows() - 1; row++) {
+			int[] slots = IntStream.range(row * 9, row * 9 + 9)
+					.filter(slot -> !chrome.get(slot) && this.getMasks().stream().noneMatch(mask -> mask.contains(slot)))
+					.toArray();
+
+			if (slots.length == 0) continue;
+			Preconditions.checkState(rows.isEmpty() || rows.get(0).length == slots.length,
+					"Every content row of " + this.getClass().getSimpleName() + " needs the same number of free slots");
+			rows.add(slots);
+		}
+
+		return rows.toArray(new int[0][]);
+	}
+
+	public int getViewportRows() {
+		return this.getContentRows().length;
+	}
+
+	public int getRowWidth() {
+		int[][] rows = this.getContentRows();
+		return rows.length == 0 ? 0 : rows[0].length;
+	}
+
+	public int getRowCount() {
+		int width = this.getRowWidth();
+		return width == 0 ? 0 : (this.provider.size() + width - 1) / width;
+	}
+
+	public GUIEntry[] getRow(int row) {
+		return this.getRow(row, this.getRowWidth());
+	}
+
+	private GUIEntry[] getRow(int row, int width) {
+		GUIEntry[] entries = new GUIEntry[width];
+		if (row < 0 || width == 0) return entries;
+
+		List<T> slice = this.provider.slice(row * width, width);
+		for (int column = 0; column < slice.size() && column < width; column++) {
+			entries[column] = this.toEntry(slice.get(column), row * width + column);
+		}
+
+		return entries;
+	}
+
+	// Page numbers are the top row of the view, counting from 1
+	@Override
+	protected GUIPage getPage(int pageNumber) {
+		return this.getPage(pageNumber, true);
+	}
+
+	GUIPage getPage(int topRow, boolean withContent) {
+		int number = Math.max(1, Math.min(topRow, this.getPageCount()));
+
+		ViewPage page = new ViewPage(this.getTitle(), this.getRows(), number);
+		if (!withContent) return page;
+
+		int[][] content = this.getContentRows();
+		for (int row = 0; row < content.length; row++) {
+			GUIEntry[] entries = this.getRow(number - 1 + row, content[row].length);
+
+			for (int column = 0; column < entries.length; column++) {
+				if (entries[column] != null) page.addItem(entries[column], content[row][column]);
+			}
+		}
+
+		return page;
+	}
+
+	@Override
+	public int getPageNumber(GUIPage page) {
+		return page instanceof ViewPage ? ((ViewPage) page).getNumber() : super.getPageNumber(page);
+	}
+
+	@Override
+	public int getPageCount() {
+		return Math.max(1, this.getRowCount() - this.getViewportRows() + 1);
+	}
+
+	// Neighbouring views share all but one row with the current one, so composing them ahead of time is wasted work
+	@Override
+	public boolean isPrefetchingPages() {
+		return false;
+	}
+
+	@Override
+	public Optional<GUIEntryFunction<GUIPage, Player, GUIEntry>> getNextArrow() {
+		return Optional.of((page, player) -> {
+			ItemStack item = this.getStockItem("scroll-down", () -> new ItemBuilder(XMaterial.ARROW).setName(ChatUtil.format("&b&lSCROLL DOWN")).toItemStack());
+			return new GUIEntryBuilder().setItem(item::clone).build();
+		});
+	}
+
+	@Override
+	public Optional<GUIEntryFunction<GUIPage, Player, GUIEntry>> getPreviousArrow() {
+		return Optional.of((page, player) -> {
+			ItemStack item = this.getStockItem("scroll-up", () -> new ItemBuilder(XMaterial.ARROW).setName(ChatUtil.format("&b&lSCROLL UP")).toItemStack());
+			return new GUIEntryBuilder().setItem(item::clone).build();
+		});
+	}
+
+	@Getter
+	private static class ViewPage extends GUIPage {
+
+		private final int number;
+
+		public ViewPage(String title, int rows, int number) {
+			super(title, rows);
+			this.number = number;
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.entry;
+
+import gg.xcodiq.pixel.library.gui.event.GUIClickEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+public class ClickActionTable {
+
+	private static final ClickType[] CLICK_TYPES = ClickType.values();
+
+	// Shared masks for the click patterns almost every entry uses
+	private static final long ALL_CLICKS = CLICK_TYPES.length >= 64 ? -1L : (1L << CLICK_TYPES.length) - 1;
+	private static final long LEFT_RIGHT_CLICKS = maskOf(ClickType.LEFT, ClickType.SHIFT_LEFT, ClickType.WINDOW_BORDER_LEFT,
+			ClickType.RIGHT, ClickType.SHIFT_RIGHT, ClickType.WINDOW_BORDER_RIGHT);
+
+	public static final ClickActionTable EMPTY = new ClickActionTable(true);
+
+	private final boolean immutable;
+
+	private long mask = 0;
+	// Every click type in the mask runs this action, until they start to differ
+	private BiConsumer<Player, GUIClickEvent> shared;
+	private BiConsumer<Player, GUIClickEvent>[] actions;
+
+	public ClickActionTable() {
+		this(false);
+	}
+
+	private ClickActionTable(boolean immutable) {
+		this.immutable = immutable;
+	}
+
+	public static ClickActionTable of(Map<ClickType, BiConsumer<Player, GUIClickEvent>> clickActions) {
+		ClickActionTable table = new ClickActionTable();
+		clickActions.forEach(table::put);
+
+		return table;
+	}
+
+	private static long bit(ClickType clickType) {
+		return 1L << clickType.ordinal();
+	}
+
+	private static long maskOf(ClickType... clickTypes) {
+		long mask = 0;
+		for (ClickType clickType : clickTypes) mask |= bit(clickType);
+
+		return mask;
+	}
+
+	public BiConsumer<Player, GUIClickEvent> get(ClickType clickType) {
+		if (clickType == null || (this.mask & bit(clickType)) == 0) return null;
+
+		return this.actions != null ? this.actions[clickType.ordinal()] : this.shared;
+	}
+
+	// A copy in the map form entries used before, changing it doesn't change the table
+	public HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> toMap() {
+		HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> map = new HashMap<>();
+		for (ClickType clickType : CLICK_TYPES) {
+			if (this.contains(clickType)) map.put(clickType, this.get(clickType));
+		}
+
+		return map;
+	}
+
+	public boolean contains(ClickType clickType) {
+		return clickType != null && (this.mask & bit(clickType)) != 0;
+	}
+
+	public boolean isEmpty() {
+		return this.mask == 0;
+	}
+
+	public ClickActionTable put(ClickType clickType, BiConsumer<Player, GUIClickEvent> consumer) {
+		if (consumer == null) return this.remove(clickType);
+
+		this.set(bit(clickType), consumer);
+		return this;
+	}
+
+	public ClickActionTable putAll(BiConsumer<Player, GUIClickEvent> consumer) {
+		this.set(ALL_CLICKS, consumer);
+		return this;
+	}
+
+	public ClickActionTable putLeftAndRight(BiConsumer<Player, GUIClickEvent> consumer) {
+		this.set(LEFT_RIGHT_CLICKS, consumer);
+		return this;
+	}
+
+	public ClickActionTable remove(ClickType clickType) {
+		this.checkMutable();
+
+		this.mask &= ~bit(clickType);
+		if (this.actions != null) this.actions[clickType.ordinal()] = null;
+
+		if (this.mask == 0) {
+			this.shared = null;
+			this.actions = null;
+		}
+		return this;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void set(long bits, BiConsumer<Player, GUIClickEvent> consumer) {
+		this.checkMutable();
+
+		// Stay compact while a single action covers every click type in the mask
+		if (this.actions == null && (this.mask == 0 || this.shared == consumer || (this.mask & ~bits) == 0)) {
+			this.shared = consumer;
+			this.mask |= bits;
+			return;
+		}
+
+		if (this.actions == null) {
+			this.actions = new BiConsumer[CLICK_TYPES.length];
+
+			for (ClickType clickType : CLICK_TYPES) {
+				if ((this.mask & bit(clickType)) != 0) this.actions[clickType.ordinal()] = this.shared;
+			}
+			this.shared = null;
+		}
+
+		for (ClickType clickType : CLICK_TYPES) {
+			if ((bits & bit(clickType)) != 0) this.actions[clickType.ordinal()] = consumer;
+		}
+		this.mask |= bits;
+	}
+
+	private void checkMutable() {
+		if (this.immutable) throw new UnsupportedOperationException("This click action table is immutable");
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.entry;
+
+import com.google.common.base.Preconditions;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class ClickLimiter {
+
+	private static final int PURGE_INTERVAL = 256;
+	private static final long PURGE_PERIOD = TimeUnit.MINUTES.toNanos(1);
+	// Rejected clicks are only interesting for a while, an idle player's count is dropped after this
+	private static final long REJECTED_TTL = TimeUnit.MINUTES.toNanos(10);
+
+	// Every limiter in use, so a player's state can be dropped from all of them when they leave
+	private static final Set<ClickLimiter> LIMITERS = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private final double clicksPerSecond;
+	private final int burst;
+
+	private final HashMap<UUID, Bucket> buckets = new HashMap<>();
+	// Kept apart from the buckets, which are purged once they're full again
+	@Getter(AccessLevel.NONE)
+	private final HashMap<UUID, Rejections> rejected = new HashMap<>();
+	private long rejectedClicks = 0;
+	private int acquisitions = 0;
+	private long lastPurge = System.nanoTime();
+
+	public ClickLimiter(double clicksPerSecond, int burst) {
+		Preconditions.checkArgument(clicksPerSecond > 0, "Clicks per second must be positive");
+		Preconditions.checkArgument(burst >= 1, "Burst must be at least 1");
+
+		this.clicksPerSecond = clicksPerSecond;
+		this.burst = burst;
+		LIMITERS.add(this);
+	}
+
+	// Allows one click per window, every click within the window after it is rejected
+	public static ClickLimiter debounce(long duration, TimeUnit unit) {
+		return new ClickLimiter(1_000_000_000D / Math.max(1, unit.toNanos(duration)), 1);
+	}
+
+	public boolean tryAcquire(UUID uuid) {
+		return tryAcquire(uuid, this);
+	}
+
+	// Only takes a token when every limiter has one, so a click rejected by one limiter doesn't drain the others
+	public static boolean tryAcquire(UUID uuid, ClickLimiter... limiters) {
+		long now = System.nanoTime();
+		boolean allowed = true;
+
+		for (int i = 0; i < limiters.length; i++) {
+			ClickLimiter limiter = limiters[i];
+			if (limiter == null || isRepeated(limiters, i)) continue;
+
+			if (limiter.refill(uuid, now).tokens < 1) {
+				limiter.rejectedClicks++;
+				limiter.rejected.computeIfAbsent(uuid, k -> new Rejections()).add(now);
+				allowed = false;
+			}
+		}
+
+		if (!allowed) return false;
+
+		for (int i = 0; i < limiters.length; i++) {
+			if (limiters[i] != null && !isRepeated(limiters, i)) limiters[i].buckets.get(uuid).tokens -= 1;
+		}
+
+		return true;
+	}
+
+	private static boolean isRepeated(ClickLimiter[] limiters, int index) {
+		for (int i = 0; i < index; i++) {
+			if (limiters[i] == limiters[index]) return true;
+		}
+
+		return false;
+	}
+
+	public long getRejectedClicks(UUID uuid) {
+		Rejections rejections = this.rejected.get(uuid);
+		return rejections == null ? 0 : rejections.count;
+	}
+
+	public void reset(UUID uuid) {
+		this.buckets.remove(uuid);
+		this.rejected.remove(uuid);
+	}
+
+	// Drops the state of a player from every limiter, called once they leave the server
+	public static void purge(UUID uuid) {
+		for (ClickLimiter limiter : LIMITERS) limiter.reset(uuid);
+	}
+
+	private Bucket refill(UUID uuid, long now) {
+		if (++this.acquisitions % PURGE_INTERVAL == 0 || now - this.lastPurge > PURGE_PERIOD) this.purgeIdle(now);
+
+		Bucket bucket = this.buckets.get(uuid);
+		if (bucket == null) this.buckets.put(uuid, bucket = new Bucket(this.burst, now));
+
+		bucket.refill(now);
+		return bucket;
+	}
+
+	private void purgeIdle(long now) {
+		this.lastPurge = now;
+
+		// A bucket that has refilled completely holds no state worth keeping
+		this.buckets.values().removeIf(bucket -> {
+			bucket.refill(now);
+			return bucket.tokens >= this.burst;
+		});
+		this.rejected.values().removeIf(rejections -> now - rejections.lastRejected > REJECTED_TTL);
+	}
+
+	private static class Rejections {
+
+		private long count;
+		private long lastRejected;
+
+		private void add(long now) {
+			this.count++;
+			this.lastRejected = now;
+		}
+	}
+
+	private class Bucket {
+
+		private double tokens;
+		private long lastRefill;
+
+		private Bucket(double tokens, long now) {
+			this.tokens = tokens;
+			this.lastRefill = now;
+		}
+
+		private void refill(long now) {
+			double refilled = (now - this.lastRefill) / 1_000_000_000D * clicksPerSecond;
+
+			this.tokens = Math.min(burst, this.tokens + refilled);
+			this.lastRefill = now;
+		}
+	}
+}
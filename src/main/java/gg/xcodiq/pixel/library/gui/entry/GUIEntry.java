@@ -25,52 +25,85 @@
 package gg.xcodiq.pixel.library.gui.entry;
 
 import gg.xcodiq.pixel.library.gui.event.GUIClickEvent;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Objects;
+import java.util.List;
 import java.util.function.BiConsumer;
 
 @Getter
 public abstract class GUIEntry {
 
-	private HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> clickActions = new HashMap<>();
+	@Getter(AccessLevel.NONE)
+	private ClickActionTable clickActions = ClickActionTable.EMPTY;
+
+	public ClickActionTable getClickActionTable() {
+		return this.clickActions;
+	}
+
+	// Only a copy, change the actions through setClickActions or onAllClicks
+	@Deprecated
+	public HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> getClickActions() {
+		return this.clickActions.toMap();
+	}
 
 	public BiConsumer<Player, GUIClickEvent> getClickAction(ClickType clickType) {
 		return this.clickActions.get(clickType);
 	}
 
-	public GUIEntry setClickActions(HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> clickActions) {
-		this.clickActions = clickActions;
+	public GUIEntry setClickActions(ClickActionTable clickActions) {
+		this.clickActions = clickActions == null ? ClickActionTable.EMPTY : clickActions;
 		return this;
 	}
 
+	@Deprecated
+	public GUIEntry setClickActions(HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> clickActions) {
+		return this.setClickActions(ClickActionTable.of(clickActions));
+	}
+
 	public GUIEntry onAllClicks(BiConsumer<Player, GUIClickEvent> consumer) {
-		for (ClickType value : ClickType.values()) {
-			clickActions.put(value, consumer);
-		}
+		// Entries without actions share the empty table, so give this entry its own before changing it
+		if (this.clickActions == ClickActionTable.EMPTY) this.clickActions = new ClickActionTable();
+
+		this.clickActions.putAll(consumer);
 		return this;
 	}
 
 	public abstract ItemStack getItem();
 
-	public abstract int getSlot();
+	// Async entries are prepared off the main thread, showing their placeholder until ready
+	public boolean isAsync() {
+		return false;
+	}
 
-	public abstract void setSlot(int slot);
+	public ItemStack getPlaceholder() {
+		return null;
+	}
+
+	// Interval in ticks at which the shared GUI scheduler re-renders this entry, 0 to never refresh
+	public long getRefreshInterval() {
+		return 0;
+	}
+
+	public ClickLimiter getClickLimiter() {
+		return null;
+	}
 
-	@Override
-	public boolean equals(Object o) {
-		if (this == o) return true;
-		if (o == null || getClass() != o.getClass()) return false;
-		GUIEntry guiEntry = (GUIEntry) o;
-		return Objects.equals(clickActions, guiEntry.clickActions);
+	// Values shown by this entry, every open worker re-renders the slot of the entry when one of them changes
+	public List<GUIValue<?>> getBindings() {
+		return Collections.emptyList();
 	}
 
-	@Override
-	public int hashCode() {
-		return Objects.hash(clickActions);
+	// Drops a memoized item so the next getItem() call rebuilds it
+	public void invalidate() {
 	}
+
+	public abstract int getSlot();
+
+	public abstract void setSlot(int slot);
 }
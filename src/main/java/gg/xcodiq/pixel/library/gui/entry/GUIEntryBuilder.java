@@ -24,67 +24,202 @@
 
 package gg.xcodiq.pixel.library.gui.entry;
 
-import com.google.common.collect.Maps;
 import gg.xcodiq.pixel.library.gui.event.GUIClickEvent;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 @Getter
 public class GUIEntryBuilder {
 
-	private HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> clickActions = Maps.newHashMap();
+	@Getter(AccessLevel.NONE)
+	private ClickActionTable clickActions = new ClickActionTable();
 
 	private Supplier<ItemStack> itemStackSupplier;
 	private int slot = -1;
 
+	private boolean memoized = false;
+	private long memoizeNanos = -1;
+	private Supplier<?> versionKey;
+
+	private boolean async = false;
+	private Supplier<ItemStack> placeholderSupplier;
+
+	private ClickLimiter clickLimiter;
+	private long refreshInterval = 0;
+
+	private final List<GUIValue<?>> bindings = new ArrayList<>();
+
 	public GUIEntryBuilder setItem(Supplier<ItemStack> itemStackSupplier) {
 		this.itemStackSupplier = itemStackSupplier;
 		return this;
 	}
 
+	public GUIEntryBuilder memoize() {
+		this.memoized = true;
+		return this;
+	}
+
+	public GUIEntryBuilder memoize(long duration, TimeUnit unit) {
+		this.memoized = true;
+		this.memoizeNanos = unit.toNanos(duration);
+		return this;
+	}
+
+	public GUIEntryBuilder memoize(Supplier<?> versionKey) {
+		this.memoized = true;
+		this.versionKey = versionKey;
+		return this;
+	}
+
+	public GUIEntryBuilder async() {
+		this.async = true;
+		return this;
+	}
+
+	public GUIEntryBuilder setPlaceholder(Supplier<ItemStack> placeholderSupplier) {
+		this.placeholderSupplier = placeholderSupplier;
+		return this;
+	}
+
+	public GUIEntryBuilder setClickLimit(double clicksPerSecond, int burst) {
+		this.clickLimiter = new ClickLimiter(clicksPerSecond, burst);
+		return this;
+	}
+
+	public GUIEntryBuilder setClickCooldown(long duration, TimeUnit unit) {
+		this.clickLimiter = ClickLimiter.debounce(duration, unit);
+		return this;
+	}
+
+	public GUIEntryBuilder setRefreshInterval(long ticks) {
+		this.refreshInterval = Math.max(0, ticks);
+		return this;
+	}
+
+	public GUIEntryBuilder bind(GUIValue<?>... values) {
+		this.bindings.addAll(Arrays.asList(values));
+		return this;
+	}
+
+	public <V> GUIEntryBuilder bind(GUIValue<V> value, Function<V, ItemStack> renderer) {
+		this.itemStackSupplier = () -> renderer.apply(value.get());
+		return this.bind(value);
+	}
+
 	public GUIEntryBuilder setSlot(int slot) {
 		this.slot = slot;
 		return this;
 	}
 
 	public GUIEntryBuilder setAction(ClickType clickType, BiConsumer<Player, GUIClickEvent> consumer) {
-		clickActions.put(clickType, consumer);
+		this.mutableClickActions().put(clickType, consumer);
+		return this;
+	}
+
+	public GUIEntryBuilder setClickActions(ClickActionTable clickActions) {
+		this.clickActions = clickActions == null ? ClickActionTable.EMPTY : clickActions;
 		return this;
 	}
 
+	@Deprecated
 	public GUIEntryBuilder setClickActions(HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> clickActions) {
-		this.clickActions = clickActions;
+		this.clickActions = ClickActionTable.of(clickActions);
 		return this;
 	}
 
 	public GUIEntryBuilder onClick(BiConsumer<Player, GUIClickEvent> consumer) {
-		clickActions.put(ClickType.LEFT, consumer);
-		clickActions.put(ClickType.SHIFT_LEFT, consumer);
-		clickActions.put(ClickType.WINDOW_BORDER_LEFT, consumer);
-		clickActions.put(ClickType.RIGHT, consumer);
-		clickActions.put(ClickType.SHIFT_RIGHT, consumer);
-		clickActions.put(ClickType.WINDOW_BORDER_RIGHT, consumer);
+		this.mutableClickActions().putLeftAndRight(consumer);
 		return this;
 	}
 
 	public GUIEntryBuilder onAllClicks(BiConsumer<Player, GUIClickEvent> consumer) {
-		Arrays.stream(ClickType.values()).forEach(value -> clickActions.put(value, consumer));
+		this.mutableClickActions().putAll(consumer);
 		return this;
 	}
 
+	public ClickActionTable getClickActionTable() {
+		return this.clickActions;
+	}
+
+	// Only a copy, change the actions through the builder methods
+	@Deprecated
+	public HashMap<ClickType, BiConsumer<Player, GUIClickEvent>> getClickActions() {
+		return this.clickActions.toMap();
+	}
+
+	// The empty table is shared and immutable, so the builder gets a table of its own before adding to it
+	private ClickActionTable mutableClickActions() {
+		if (this.clickActions == ClickActionTable.EMPTY) this.clickActions = new ClickActionTable();
+		return this.clickActions;
+	}
+
 	public GUIEntry build() {
+		List<GUIValue<?>> bindings = this.bindings.isEmpty() ? Collections.emptyList() : new ArrayList<>(this.bindings);
+
 		return new GUIEntry() {
+			// Async entries are evaluated off the main thread, so the cache is swapped as a whole and never mutated
+			private volatile CachedItem cached;
+
 			@Override
 			public ItemStack getItem() {
+				if (!memoized) return this.createItem();
+
+				// Rebuild the item once it's invalidated, expired or its version key has changed
+				Object version = versionKey == null ? null : versionKey.get();
+				long now = memoizeNanos >= 0 ? System.nanoTime() : 0;
+
+				CachedItem cached = this.cached;
+				if (cached == null
+						|| (memoizeNanos >= 0 && now - cached.createdAt >= memoizeNanos)
+						|| !Objects.equals(version, cached.version)) {
+					cached = new CachedItem(this.createItem(), now, version);
+					this.cached = cached;
+				}
+
+				return cached.item;
+			}
+
+			@Override
+			public boolean isAsync() {
+				return async;
+			}
+
+			@Override
+			public ItemStack getPlaceholder() {
+				return placeholderSupplier == null ? null : placeholderSupplier.get();
+			}
+
+			@Override
+			public long getRefreshInterval() {
+				return refreshInterval;
+			}
+
+			@Override
+			public ClickLimiter getClickLimiter() {
+				return clickLimiter;
+			}
+
+			@Override
+			public List<GUIValue<?>> getBindings() {
+				return bindings;
+			}
+
+			@Override
+			public void invalidate() {
+				this.cached = null;
+			}
+
+			private ItemStack createItem() {
 				return Optional.ofNullable(itemStackSupplier).map(Supplier::get).orElseGet(() -> new ItemStack(Material.AIR));
 			}
 
@@ -99,4 +234,17 @@ public class GUIEntryBuilder {
 			}
 		}.setClickActions(clickActions);
 	}
+
+	private static class CachedItem {
+
+		private final ItemStack item;
+		private final long createdAt;
+		private final Object version;
+
+		private CachedItem(ItemStack item, long createdAt, Object version) {
+			this.item = item;
+			this.createdAt = createdAt;
+			this.version = version;
+		}
+	}
 }
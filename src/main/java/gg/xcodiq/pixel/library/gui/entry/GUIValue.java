@@ -0,0 +1,69 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.entry;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+public class GUIValue<T> {
+
+	private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+	private volatile T value;
+
+	public GUIValue() {
+	}
+
+	public GUIValue(T value) {
+		this.value = value;
+	}
+
+	public T get() {
+		return this.value;
+	}
+
+	public void set(T value) {
+		// Listeners re-render slots, so a write that doesn't change anything shouldn't reach them
+		if (Objects.equals(this.value, value)) return;
+
+		this.value = value;
+		this.listeners.forEach(Runnable::run);
+	}
+
+	public void update(UnaryOperator<T> function) {
+		this.set(function.apply(this.value));
+	}
+
+	// Calls the listener on every change, the returned handle removes it again
+	public Runnable subscribe(Runnable listener) {
+		this.listeners.add(listener);
+		return () -> this.listeners.remove(listener);
+	}
+
+	public int getListenerCount() {
+		return this.listeners.size();
+	}
+}
@@ -51,14 +51,14 @@ public class GUIClickEvent extends InventoryClickEvent implements Cancellable {
 	}
 
 	public void updateItem() {
-		GUIEntry entry = worker.getEntryBySlot(this.getSlot());
+		GUIEntry entry = worker.getEntryBySlot(this.getRawSlot());
 		if (entry == null) return;
 
-		worker.getInventory().setItem(entry.getSlot(), entry.getItem());
+		worker.updateSlot(this.getRawSlot(), entry.getItem());
 	}
 
 	public void updateItem(GUIEntry entry) {
-		worker.getInventory().setItem(this.getSlot(), entry.getItem());
+		worker.updateSlot(this.getRawSlot(), entry.getItem());
 	}
 
 	public boolean isCancelled() {
@@ -0,0 +1,202 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.layout;
+
+import com.cryptomorin.xseries.XMaterial;
+import gg.xcodiq.pixel.library.SpigotPlugin;
+import gg.xcodiq.pixel.library.configuration.SpigotConfig;
+import gg.xcodiq.pixel.library.util.ChatUtil;
+import gg.xcodiq.pixel.library.util.item.ItemBuilder;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+public class GUILayout {
+
+	private static final long WATCH_INTERVAL = 100L;
+
+	// Compiled layouts by file and path, only rebuilt once the backing file has changed
+	private static final HashMap<String, GUILayout> cache = new HashMap<>();
+	private static final HashMap<String, SpigotConfig> configs = new HashMap<>();
+
+	private static BukkitTask watchTask;
+
+	@Getter
+	private final String title;
+	@Getter
+	private final int rows;
+	@Getter
+	private final long lastModified;
+
+	private final ItemStack[] items;
+	private final String[] actions;
+
+	// Set once a newer version of the layout has to be compiled, GUIs showing this one rebuild on their next open
+	@Getter
+	private volatile boolean outdated = false;
+
+	private GUILayout(String title, int rows, long lastModified, ItemStack[] items, String[] actions) {
+		this.title = title;
+		this.rows = rows;
+		this.lastModified = lastModified;
+		this.items = items;
+		this.actions = actions;
+	}
+
+	// Compiled layouts are served from the cache, the backing files are only checked by the watch task
+	public static GUILayout load(SpigotConfig config, String path) {
+		String key = config.getFile().getPath() + "#" + path;
+
+		GUILayout layout = cache.get(key);
+		if (layout != null) return layout;
+
+		ConfigurationSection section = config.toBukkit().getConfigurationSection(path);
+		if (section == null) throw new IllegalArgumentException("No GUI layout found at '" + path + "' in " + config.getFile().getName());
+
+		layout = compile(section, config.getFile().lastModified());
+		cache.put(key, layout);
+		configs.put(key, config);
+
+		startWatching();
+		return layout;
+	}
+
+	public static void checkForChanges() {
+		Set<SpigotConfig> reloaded = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		for (Iterator<Map.Entry<String, GUILayout>> iterator = cache.entrySet().iterator(); iterator.hasNext(); ) {
+			Map.Entry<String, GUILayout> entry = iterator.next();
+			SpigotConfig config = configs.get(entry.getKey());
+			if (config == null || config.getFile().lastModified() == entry.getValue().lastModified) continue;
+
+			// Re-read the file once, every layout in it is compiled again from the fresh YAML on its next load
+			if (reloaded.add(config)) config.reloadConfig();
+
+			entry.getValue().outdated = true;
+			iterator.remove();
+		}
+	}
+
+	public static void invalidateAll() {
+		Set<SpigotConfig> reloaded = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (SpigotConfig config : configs.values()) {
+			if (reloaded.add(config)) config.reloadConfig();
+		}
+
+		cache.values().forEach(layout -> layout.outdated = true);
+		cache.clear();
+	}
+
+	public static void stopWatching() {
+		if (watchTask != null) watchTask.cancel();
+		watchTask = null;
+	}
+
+	private static void startWatching() {
+		if (watchTask != null) return;
+
+		watchTask = Bukkit.getScheduler().runTaskTimer(SpigotPlugin.getInstance(), GUILayout::checkForChanges, WATCH_INTERVAL, WATCH_INTERVAL);
+	}
+
+	public static GUILayout compile(ConfigurationSection section, long lastModified) {
+		String title = section.getString("title", "");
+		int rows = section.getInt("rows", 3);
+
+		if (rows < 1 || rows > 6) throw new IllegalArgumentException("The rows of GUI layout '" + section.getCurrentPath() + "' must be between 1 and 6");
+
+		ItemStack[] items = new ItemStack[rows * 9];
+		String[] actions = new String[rows * 9];
+
+		HashMap<String, ItemStack> itemsByKey = new HashMap<>();
+		HashMap<String, String> actionsByKey = new HashMap<>();
+
+		ConfigurationSection itemSection = section.getConfigurationSection("items");
+		if (itemSection != null) {
+			for (String key : itemSection.getKeys(false)) {
+				ConfigurationSection item = itemSection.getConfigurationSection(key);
+				if (item == null) continue;
+
+				ItemStack itemStack = compileItem(item);
+				String action = item.getString("action");
+
+				itemsByKey.put(key, itemStack);
+				if (action != null) actionsByKey.put(key, action);
+
+				// Items can be placed by slot numbers, by the mask, or both
+				if (item.isInt("slot")) place(items, actions, item.getInt("slot"), itemStack, action);
+				for (int slot : item.getIntegerList("slots")) place(items, actions, slot, itemStack, action);
+			}
+		}
+
+		List<String> mask = section.getStringList("mask");
+		for (int row = 0; row < mask.size() && row < rows; row++) {
+			String line = mask.get(row);
+
+			for (int column = 0; column < line.length() && column < 9; column++) {
+				String key = String.valueOf(line.charAt(column));
+				if (!itemsByKey.containsKey(key)) continue;
+
+				place(items, actions, row * 9 + column, itemsByKey.get(key), actionsByKey.get(key));
+			}
+		}
+
+		return new GUILayout(title, rows, lastModified, items, actions);
+	}
+
+	private static ItemStack compileItem(ConfigurationSection item) {
+		String materialName = item.getString("material", "STONE");
+		XMaterial material = XMaterial.matchXMaterial(materialName).orElseThrow(() ->
+				new IllegalArgumentException("Unknown material '" + materialName + "' in " + item.getCurrentPath()));
+
+		ItemBuilder builder = new ItemBuilder(material, Math.max(1, item.getInt("amount", 1)));
+		if (item.isString("name")) builder.setName(ChatUtil.format(item.getString("name")));
+		if (item.isList("lore")) builder.setLore(ChatUtil.format(item.getStringList("lore")));
+
+		return builder.toItemStack();
+	}
+
+	private static void place(ItemStack[] items, String[] actions, int slot, ItemStack item, String action) {
+		if (slot < 0 || slot >= items.length) return;
+
+		items[slot] = item;
+		actions[slot] = action;
+	}
+
+	public int getSize() {
+		return this.items.length;
+	}
+
+	public ItemStack getItem(int slot) {
+		return slot >= 0 && slot < this.items.length ? this.items[slot] : null;
+	}
+
+	public String getAction(int slot) {
+		return slot >= 0 && slot < this.actions.length ? this.actions[slot] : null;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.layout;
+
+import gg.xcodiq.pixel.library.configuration.SpigotConfig;
+import gg.xcodiq.pixel.library.gui.GUI;
+import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
+import gg.xcodiq.pixel.library.gui.entry.GUIEntryBuilder;
+import gg.xcodiq.pixel.library.gui.event.GUIClickEvent;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.function.BiConsumer;
+
+@Getter
+public class LayoutGUI extends GUI {
+
+	private final SpigotConfig config;
+	private final String path;
+
+	private final HashMap<String, BiConsumer<Player, GUIClickEvent>> actions = new HashMap<>();
+
+	private GUILayout appliedLayout;
+
+	public LayoutGUI(SpigotConfig config, String path) {
+		this(config, path, GUILayout.load(config, path));
+	}
+
+	private LayoutGUI(SpigotConfig config, String path, GUILayout layout) {
+		super(layout.getTitle(), layout.getRows());
+
+		this.config = config;
+		this.path = path;
+	}
+
+	public LayoutGUI registerAction(String id, BiConsumer<Player, GUIClickEvent> action) {
+		this.actions.put(id, action);
+		return this;
+	}
+
+	@Override
+	protected boolean isOutdated() {
+		// The watch task flags layouts whose file changed, so this doesn't touch the disk on every open
+		return this.appliedLayout == null || this.appliedLayout.isOutdated();
+	}
+
+	@Override
+	protected void init() {
+		GUILayout layout = GUILayout.load(this.config, this.path);
+
+		this.setTitle(layout.getTitle());
+		this.setRows(layout.getRows());
+
+		for (int slot = 0; slot < layout.getSize(); slot++) {
+			ItemStack item = layout.getItem(slot);
+			if (item == null) continue;
+
+			GUIEntry entry = new GUIEntryBuilder().setSlot(slot).setItem(item::clone).build();
+
+			String action = layout.getAction(slot);
+			if (action != null) entry.onAllClicks((player, event) -> {
+				BiConsumer<Player, GUIClickEvent> handler = this.actions.get(action);
+				if (handler != null) handler.accept(player, event);
+			});
+
+			this.addItem(entry);
+		}
+
+		this.appliedLayout = layout;
+	}
+}
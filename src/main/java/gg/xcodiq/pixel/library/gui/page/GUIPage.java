@@ -24,49 +24,73 @@
 
 package gg.xcodiq.pixel.library.gui.page;
 
+import gg.xcodiq.pixel.library.gui.GUIMask;
 import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
 import gg.xcodiq.pixel.library.util.ChatUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import org.bukkit.Bukkit;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 @Getter
 public abstract class GUIPage implements InventoryHolder {
 
 	private final List<GUIEntry> entries = new ArrayList<>();
-	private final Inventory inventory;
+	private final List<GUIMask> masks = new ArrayList<>();
+
+	// Identity set next to the list, so checking for duplicates doesn't scan every entry
+	@Getter(AccessLevel.NONE)
+	private final Set<GUIEntry> addedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+	// Slots this page gives to entries without a slot of their own, the entries themselves stay untouched
+	@Getter(AccessLevel.NONE)
+	private final Map<GUIEntry, Integer> placements = new IdentityHashMap<>();
 
 	private final String title;
 	private final int rows;
 
+	@Setter
+	private boolean fillBorders = false;
+
+	private Inventory inventory;
+
 	public GUIPage(String title, int rows) {
 		this.title = title;
 		this.rows = rows;
-
-		this.inventory = Bukkit.createInventory(this, rows * 9, ChatUtil.format(title));
 	}
 
 	public void addItem(GUIEntry entry) {
-		if (entries.contains(entry)) return;
+		if (addedEntries.add(entry)) entries.add(entry);
+	}
+
+	public void addItem(GUIEntry entry, int slot) {
+		if (!addedEntries.add(entry)) return;
 
 		entries.add(entry);
+		if (slot != -1) placements.put(entry, slot);
 	}
 
-	@Override
-	public boolean equals(Object o) {
-		if (this == o) return true;
-		if (o == null || getClass() != o.getClass()) return false;
-		GUIPage guiPage = (GUIPage) o;
-		return Objects.equals(entries, guiPage.entries) && Objects.equals(inventory, guiPage.inventory);
+	public int getSlot(GUIEntry entry) {
+		Integer slot = placements.get(entry);
+		return slot != null ? slot : entry.getSlot();
+	}
+
+	public void addItems(Collection<? extends GUIEntry> entries) {
+		for (GUIEntry entry : entries) this.addItem(entry);
+	}
+
+	public void addMask(GUIMask mask) {
+		if (!masks.contains(mask)) masks.add(mask);
 	}
 
 	@Override
-	public int hashCode() {
-		return Objects.hash(entries, inventory);
+	public @NotNull Inventory getInventory() {
+		// Pages are shown through their GUI, so only create an inventory when somebody asks for one
+		if (inventory == null) inventory = Bukkit.createInventory(this, rows * 9, ChatUtil.format(title));
+		return inventory;
 	}
 }
@@ -24,16 +24,23 @@
 
 package gg.xcodiq.pixel.library.gui.page;
 
+import com.google.common.base.Preconditions;
+import gg.xcodiq.pixel.library.gui.GUI;
+import gg.xcodiq.pixel.library.gui.GUIMask;
 import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
+import lombok.AccessLevel;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Getter
 public class GUIPageBuilder {
 
-	private final List<GUIEntry> entries = new ArrayList<>();
+	// GUIEntry uses identity equality, so duplicates are dropped in O(1) while keeping the order they were added in
+	@Getter(AccessLevel.NONE)
+	private final LinkedHashSet<GUIEntry> entries = new LinkedHashSet<>();
 
 	private String title;
 	private int rows;
@@ -51,21 +58,117 @@ public class GUIPageBuilder {
 	}
 
 	public GUIPageBuilder addItem(GUIEntry entry) {
-		if (!entries.contains(entry)) entries.add(entry);
+		entries.add(entry);
 		return this;
 	}
 
+	public GUIPageBuilder addItems(Collection<? extends GUIEntry> entries) {
+		this.entries.addAll(entries);
+		return this;
+	}
+
+	public GUIPageBuilder addItems(Stream<? extends GUIEntry> entries) {
+		entries.forEachOrdered(this.entries::add);
+		return this;
+	}
+
+	// The border itself comes from the GUI showing the page, see GUI#getBorder
 	public GUIPageBuilder fillBorders() {
 		this.fillBorders = true;
 		return this;
 	}
 
+	public List<GUIEntry> getEntries() {
+		return new ArrayList<>(this.entries);
+	}
+
 	public GUIPage build() {
+		GUIPage page = this.createPage();
+		for (GUIEntry entry : this.entries) page.addItem(entry);
+
+		return page;
+	}
+
+	// Splits the entries over as many pages as the GUI showing them needs, entries with a slot of their own are shown on every page.
+	// The GUI's own entries and masks have to be added first, the other entries are laid out around them
+	public List<GUIPage> buildPages(GUI gui) {
+		Preconditions.checkNotNull(gui, "GUI cannot be null");
+
+		List<GUIEntry> fixed = new ArrayList<>();
+		List<GUIEntry> flowing = new ArrayList<>(this.entries.size());
+
+		for (GUIEntry entry : this.entries) {
+			if (entry.getSlot() == -1) {
+				flowing.add(entry);
+				continue;
+			}
+
+			Preconditions.checkArgument(entry.getSlot() >= 0 && entry.getSlot() < gui.getRows() * 9,
+					"Slot " + entry.getSlot() + " doesn't exist in the " + gui.getRows() + " rows of " + gui.getClass().getSimpleName());
+			fixed.add(entry);
+		}
+
+		if (flowing.isEmpty()) return Collections.singletonList(this.build());
+
+		int[] contentSlots = this.getContentSlots(gui, fixed);
+		Preconditions.checkState(contentSlots.length > 0, "None of the slots of " + gui.getClass().getSimpleName() + " are free for the " + flowing.size() + " entries without a slot");
+
+		List<GUIPage> pages = new ArrayList<>();
+		int offset = 0;
+
+		do {
+			GUIPage page = this.createPage();
+			for (GUIEntry entry : fixed) page.addItem(entry);
+
+			// The page places the entries, so the same entry can sit in a different slot on every page it is built into
+			for (int i = 0; i < contentSlots.length && offset < flowing.size(); i++) page.addItem(flowing.get(offset++), contentSlots[i]);
+
+			pages.add(page);
+		} while (offset < flowing.size());
+
+		return pages;
+	}
+
+	// Every row of the GUI except the navigation row, without its masks, the border and the slots taken by fixed entries
+	public int[] getContentSlots(GUI gui) {
+		List<GUIEntry> fixed = new ArrayList<>();
+		for (GUIEntry entry : this.entries) {
+			if (entry.getSlot() != -1) fixed.add(entry);
+		}
+
+		return this.getContentSlots(gui, fixed);
+	}
+
+	private int[] getContentSlots(GUI gui, List<GUIEntry> fixed) {
+		List<GUIMask> masks = new ArrayList<>(gui.getMasks());
+		GUIMask borders = this.fillBorders ? gui.getBorderMask() : null;
+		if (borders != null) masks.add(borders);
+
+		BitSet taken = new BitSet();
+		for (GUIEntry entry : fixed) taken.set(entry.getSlot());
+
+		int flowingEntries = 0;
+		for (GUIEntry entry : gui.getEntries()) {
+			if (entry == null) continue;
+
+			if (entry.getSlot() >= 0) taken.set(entry.getSlot());
+			else flowingEntries++;
+		}
+
+		int size = Math.max(1, gui.getRows() - 1) * 9;
+		int[] free = IntStream.range(0, size)
+				.filter(slot -> !taken.get(slot) && masks.stream().noneMatch(mask -> mask.contains(slot)))
+				.toArray();
+
+		// Entries of the GUI itself without a slot are placed first and take the first free slots
+		return Arrays.copyOfRange(free, Math.min(flowingEntries, free.length), free.length);
+	}
+
+	private GUIPage createPage() {
 		GUIPage page = new GUIPage(this.title, this.rows) {
 		};
 
-		for (GUIEntry entry : this.entries) page.addItem(entry);
-
+		page.setFillBorders(this.fillBorders);
 		return page;
 	}
 }
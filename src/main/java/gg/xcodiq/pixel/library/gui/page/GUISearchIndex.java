@@ -0,0 +1,233 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.page;
+
+import com.google.common.base.Preconditions;
+import gg.xcodiq.pixel.library.util.ChatUtil;
+import org.bukkit.ChatColor;
+
+import java.util.*;
+import java.util.function.Function;
+
+public class GUISearchIndex<T> implements GUIDataProvider<T> {
+
+	private static final String[] NO_TOKENS = new String[0];
+
+	private final Function<T, String> labeler;
+
+	// Elements by id in the order they were added, removed elements leave a hole until the next compaction
+	private final List<T> elements = new ArrayList<>();
+	private final List<String[]> elementTokens = new ArrayList<>();
+	private final HashMap<T, Integer> ids = new HashMap<>();
+	private int removed = 0;
+
+	// Every token of every label with the ids of the elements containing it, sorted so a prefix is a range
+	private final TreeMap<String, BitSet> tokens = new TreeMap<>();
+
+	// Bumped on every change, so results know when their matches are stale
+	private int version = 0;
+	private final Result all = new Result(NO_TOKENS);
+
+	public GUISearchIndex(Function<T, String> labeler) {
+		Preconditions.checkNotNull(labeler, "Labeler cannot be null");
+		this.labeler = labeler;
+	}
+
+	public GUISearchIndex(Function<T, String> labeler, Collection<T> elements) {
+		this(labeler);
+		elements.forEach(this::add);
+	}
+
+	public void add(T element) {
+		Preconditions.checkNotNull(element, "Element cannot be null");
+
+		Integer id = this.ids.get(element);
+		if (id != null) {
+			this.update(element);
+			return;
+		}
+
+		id = this.elements.size();
+		String[] tokens = tokenize(this.labeler.apply(element));
+
+		this.elements.add(element);
+		this.elementTokens.add(tokens);
+		this.ids.put(element, id);
+
+		for (String token : tokens) this.tokens.computeIfAbsent(token, k -> new BitSet()).set(id);
+		this.version++;
+	}
+
+	public boolean remove(T element) {
+		Integer id = this.ids.remove(element);
+		if (id == null) return false;
+
+		this.unlink(id);
+		this.elements.set(id, null);
+		this.elementTokens.set(id, NO_TOKENS);
+		this.removed++;
+		this.version++;
+
+		if (this.removed > 64 && this.removed > this.elements.size() / 2) this.compact();
+		return true;
+	}
+
+	// Re-indexes the label of an element that changed, it keeps its position
+	public void update(T element) {
+		Integer id = this.ids.get(element);
+		if (id == null) {
+			this.add(element);
+			return;
+		}
+
+		this.unlink(id);
+
+		String[] tokens = tokenize(this.labeler.apply(element));
+		this.elements.set(id, element);
+		this.elementTokens.set(id, tokens);
+
+		for (String token : tokens) this.tokens.computeIfAbsent(token, k -> new BitSet()).set(id);
+		this.version++;
+	}
+
+	public void clear() {
+		this.elements.clear();
+		this.elementTokens.clear();
+		this.ids.clear();
+		this.tokens.clear();
+		this.removed = 0;
+		this.version++;
+	}
+
+	// A live view on the elements matching every word of the query by prefix, an empty query matches everything
+	public GUIDataProvider<T> search(String query) {
+		String[] terms = query == null ? NO_TOKENS : tokenize(query);
+		return terms.length == 0 ? this : new Result(terms);
+	}
+
+	@Override
+	public int size() {
+		return this.all.size();
+	}
+
+	@Override
+	public List<T> slice(int offset, int limit) {
+		return this.all.slice(offset, limit);
+	}
+
+	private void unlink(int id) {
+		for (String token : this.elementTokens.get(id)) {
+			BitSet ids = this.tokens.get(token);
+			if (ids == null) continue;
+
+			ids.clear(id);
+			if (ids.isEmpty()) this.tokens.remove(token);
+		}
+	}
+
+	private void compact() {
+		List<T> live = new ArrayList<>(this.ids.size());
+		for (T element : this.elements) {
+			if (element != null) live.add(element);
+		}
+
+		this.clear();
+		live.forEach(this::add);
+	}
+
+	private int[] match(String[] terms) {
+		BitSet result = null;
+
+		for (String term : terms) {
+			BitSet hits = new BitSet();
+			for (BitSet ids : this.tokens.subMap(term, true, term + Character.MAX_VALUE, false).values()) hits.or(ids);
+
+			if (result == null) result = hits;
+			else result.and(hits);
+
+			if (result.isEmpty()) break;
+		}
+
+		if (result != null) return result.stream().toArray();
+
+		// No terms, so every element that wasn't removed
+		int[] matches = new int[this.ids.size()];
+		for (int id = 0, i = 0; id < this.elements.size() && i < matches.length; id++) {
+			if (this.elements.get(id) != null) matches[i++] = id;
+		}
+
+		return matches;
+	}
+
+	private static String[] tokenize(String label) {
+		if (label == null) return NO_TOKENS;
+
+		String plain = ChatColor.stripColor(ChatUtil.format(label)).toLowerCase(Locale.ROOT);
+		return Arrays.stream(plain.split("[^\\p{L}\\p{N}]+"))
+				.filter(token -> !token.isEmpty())
+				.distinct()
+				.toArray(String[]::new);
+	}
+
+	private class Result implements GUIDataProvider<T> {
+
+		private final String[] terms;
+
+		private int version = -1;
+		private int[] matches;
+
+		private Result(String[] terms) {
+			this.terms = terms;
+		}
+
+		private int[] matches() {
+			// Only match again when the index changed since the last page was requested
+			if (this.version != GUISearchIndex.this.version) {
+				this.matches = GUISearchIndex.this.match(this.terms);
+				this.version = GUISearchIndex.this.version;
+			}
+
+			return this.matches;
+		}
+
+		@Override
+		public int size() {
+			return this.matches().length;
+		}
+
+		@Override
+		public List<T> slice(int offset, int limit) {
+			int[] matches = this.matches();
+
+			int from = Math.max(0, Math.min(offset, matches.length));
+			int to = Math.max(from, Math.min(offset + limit, matches.length));
+
+			List<T> slice = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) slice.add(GUISearchIndex.this.elements.get(matches[i]));
+
+			return slice;
+		}
+	}
+}
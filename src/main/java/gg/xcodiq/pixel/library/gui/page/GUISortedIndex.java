@@ -0,0 +1,262 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.page;
+
+import com.google.common.base.Preconditions;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+public class GUISortedIndex<T> {
+
+	// Insertion sequence of every element, it breaks ties so equal keys still have a stable order
+	private final HashMap<T, Long> sequences = new HashMap<>();
+	private long nextSequence = 0;
+
+	private final LinkedHashMap<String, Order<?>> orders = new LinkedHashMap<>();
+
+	public <K extends Comparable<? super K>> GUISortedIndex<T> addOrder(String name, Function<T, K> key) {
+		return this.addOrder(name, key, Comparator.naturalOrder());
+	}
+
+	public <K> GUISortedIndex<T> addOrder(String name, Function<T, K> key, Comparator<? super K> comparator) {
+		Preconditions.checkNotNull(key, "Key cannot be null");
+		Preconditions.checkNotNull(comparator, "Comparator cannot be null");
+		Preconditions.checkArgument(!this.orders.containsKey(name), "Order " + name + " already exists");
+
+		Order<K> order = new Order<>(key, comparator);
+		this.sequences.forEach(order::insert);
+
+		this.orders.put(name, order);
+		return this;
+	}
+
+	public void add(T element) {
+		Preconditions.checkNotNull(element, "Element cannot be null");
+
+		if (this.sequences.containsKey(element)) {
+			this.update(element);
+			return;
+		}
+
+		long sequence = this.nextSequence++;
+		this.sequences.put(element, sequence);
+
+		for (Order<?> order : this.orders.values()) order.insert(element, sequence);
+	}
+
+	public boolean remove(T element) {
+		if (this.sequences.remove(element) == null) return false;
+
+		for (Order<?> order : this.orders.values()) order.remove(element);
+		return true;
+	}
+
+	// Moves an element whose sort keys changed, only its own nodes are touched
+	public void update(T element) {
+		Long sequence = this.sequences.get(element);
+		if (sequence == null) {
+			this.add(element);
+			return;
+		}
+
+		for (Order<?> order : this.orders.values()) {
+			order.remove(element);
+			order.insert(element, sequence);
+		}
+	}
+
+	public void clear() {
+		this.sequences.clear();
+		this.orders.values().forEach(Order::clear);
+	}
+
+	public int size() {
+		return this.sequences.size();
+	}
+
+	public GUIDataProvider<T> sortedBy(String name) {
+		return this.sortedBy(name, false);
+	}
+
+	// A live view on the elements in the given order, pages are sliced by rank
+	public GUIDataProvider<T> sortedBy(String name, boolean descending) {
+		Order<?> order = this.orders.get(name);
+		Preconditions.checkArgument(order != null, "Unknown order " + name);
+
+		return new GUIDataProvider<T>() {
+			@Override
+			public int size() {
+				return order.size();
+			}
+
+			@Override
+			public List<T> slice(int offset, int limit) {
+				return order.slice(offset, limit, descending);
+			}
+		};
+	}
+
+	// Treap augmented with subtree sizes, so a rank lookup is O(log n) and a page O(log n + page size)
+	private class Order<K> {
+
+		private final Function<T, K> key;
+		private final Comparator<? super K> comparator;
+
+		private final HashMap<T, Node<T, K>> nodes = new HashMap<>();
+		private Node<T, K> root;
+
+		private Order(Function<T, K> key, Comparator<? super K> comparator) {
+			this.key = key;
+			this.comparator = comparator;
+		}
+
+		private int size() {
+			return Node.size(this.root);
+		}
+
+		private void clear() {
+			this.nodes.clear();
+			this.root = null;
+		}
+
+		private void insert(T element, long sequence) {
+			// The key is kept in the node, so the element can still be found after it changed
+			Node<T, K> node = new Node<>(element, this.key.apply(element), sequence);
+			this.nodes.put(element, node);
+
+			Node<T, K>[] split = this.split(this.root, node);
+			this.root = this.merge(this.merge(split[0], node), split[1]);
+		}
+
+		private void remove(T element) {
+			Node<T, K> node = this.nodes.remove(element);
+			if (node != null) this.root = this.remove(this.root, node);
+		}
+
+		private Node<T, K> remove(Node<T, K> current, Node<T, K> node) {
+			if (current == null) return null;
+			if (current == node) return this.merge(current.left, current.right);
+
+			if (this.compare(node, current) < 0) current.left = this.remove(current.left, node);
+			else current.right = this.remove(current.right, node);
+
+			current.update();
+			return current;
+		}
+
+		private int compare(Node<T, K> a, Node<T, K> b) {
+			int result = this.comparator.compare(a.key, b.key);
+			return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+		}
+
+		// Splits into the nodes ordered before the pivot and the ones after it
+		@SuppressWarnings("unchecked")
+		private Node<T, K>[] split(Node<T, K> current, Node<T, K> pivot) {
+			if (current == null) return new Node[]{null, null};
+
+			if (this.compare(current, pivot) < 0) {
+				Node<T, K>[] split = this.split(current.right, pivot);
+				current.right = split[0];
+				current.update();
+
+				split[0] = current;
+				return split;
+			}
+
+			Node<T, K>[] split = this.split(current.left, pivot);
+			current.left = split[1];
+			current.update();
+
+			split[1] = current;
+			return split;
+		}
+
+		private Node<T, K> merge(Node<T, K> left, Node<T, K> right) {
+			if (left == null) return right;
+			if (right == null) return left;
+
+			if (left.priority > right.priority) {
+				left.right = this.merge(left.right, right);
+				left.update();
+				return left;
+			}
+
+			right.left = this.merge(left, right.left);
+			right.update();
+			return right;
+		}
+
+		private List<T> slice(int offset, int limit, boolean descending) {
+			int size = this.size();
+			int from = Math.max(0, Math.min(offset, size));
+			int to = Math.max(from, Math.min(offset + limit, size));
+
+			List<T> slice = new ArrayList<>(to - from);
+			if (descending) {
+				this.collect(this.root, size - to, size - from, slice);
+				Collections.reverse(slice);
+			} else this.collect(this.root, from, to, slice);
+
+			return slice;
+		}
+
+		// Collects the nodes ranked from (inclusive) to (exclusive), skipping every subtree outside of that range
+		private void collect(Node<T, K> node, int from, int to, List<T> out) {
+			if (node == null || from >= to) return;
+
+			int leftSize = Node.size(node.left);
+			if (from < leftSize) this.collect(node.left, from, Math.min(to, leftSize), out);
+			if (from <= leftSize && leftSize < to) out.add(node.element);
+			if (to > leftSize + 1) this.collect(node.right, Math.max(0, from - leftSize - 1), to - leftSize - 1, out);
+		}
+	}
+
+	private static class Node<E, K> {
+
+		private final E element;
+		private final K key;
+		private final long sequence;
+		private final int priority = ThreadLocalRandom.current().nextInt();
+
+		private Node<E, K> left, right;
+		private int size = 1;
+
+		private Node(E element, K key, long sequence) {
+			this.element = element;
+			this.key = key;
+			this.sequence = sequence;
+		}
+
+		private static int size(Node<?, ?> node) {
+			return node == null ? 0 : node.size;
+		}
+
+		private void update() {
+			this.size = 1 + size(this.left) + size(this.right);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.timing;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class GUITimings {
+
+	// Timings by GUI class name, so recording them never keeps a plugin's classes loaded
+	private static final Map<String, EnumMap<Phase, Histogram>> timings = new ConcurrentHashMap<>();
+
+	@Getter
+	@Setter
+	private static volatile boolean enabled = false;
+
+	public static void record(Class<?> guiClass, Phase phase, long nanos) {
+		if (!enabled) return;
+
+		EnumMap<Phase, Histogram> histograms = timings.computeIfAbsent(guiClass.getName(), name -> {
+			EnumMap<Phase, Histogram> map = new EnumMap<>(Phase.class);
+			for (Phase value : Phase.values()) map.put(value, new Histogram());
+
+			return map;
+		});
+
+		histograms.get(phase).record(nanos);
+	}
+
+	public static <T> T time(Class<?> guiClass, Phase phase, Supplier<T> supplier) {
+		if (!enabled) return supplier.get();
+
+		long start = System.nanoTime();
+		try {
+			return supplier.get();
+		} finally {
+			record(guiClass, phase, System.nanoTime() - start);
+		}
+	}
+
+	public static void time(Class<?> guiClass, Phase phase, Runnable runnable) {
+		if (!enabled) {
+			runnable.run();
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			runnable.run();
+		} finally {
+			record(guiClass, phase, System.nanoTime() - start);
+		}
+	}
+
+	public static Map<String, EnumMap<Phase, Histogram>> getTimings() {
+		return timings;
+	}
+
+	public static Histogram getHistogram(Class<?> guiClass, Phase phase) {
+		EnumMap<Phase, Histogram> histograms = timings.get(guiClass.getName());
+		return histograms == null ? null : histograms.get(phase);
+	}
+
+	public static void reset() {
+		timings.clear();
+	}
+
+	public enum Phase {
+		INIT,
+		SETUP,
+		SUPPLIER,
+		OPEN,
+		CLICK
+	}
+
+	public static class Histogram {
+
+		// Log-linear buckets: exact below 16ns, above that 16 buckets per power of two (~6% precision)
+		private static final int SUB_BUCKETS = 16;
+
+		private final long[] counts = new long[64 * SUB_BUCKETS];
+		private long count = 0;
+		private long max = 0;
+
+		private static int indexOf(long value) {
+			if (value < SUB_BUCKETS) return (int) Math.max(0, value);
+
+			int exponent = 63 - Long.numberOfLeadingZeros(value);
+			int subBucket = (int) ((value >>> (exponent - 4)) & (SUB_BUCKETS - 1));
+
+			return (exponent - 3) * SUB_BUCKETS + subBucket;
+		}
+
+		private static long upperBoundOf(int index) {
+			if (index < SUB_BUCKETS) return index;
+
+			int exponent = index / SUB_BUCKETS + 3;
+			int subBucket = index % SUB_BUCKETS;
+
+			return ((SUB_BUCKETS + subBucket + 1L) << (exponent - 4)) - 1;
+		}
+
+		public synchronized void record(long nanos) {
+			this.counts[indexOf(nanos)]++;
+			this.count++;
+			this.max = Math.max(this.max, nanos);
+		}
+
+		public synchronized long getCount() {
+			return this.count;
+		}
+
+		public synchronized long getMax() {
+			return this.max;
+		}
+
+		public synchronized long getPercentile(double percentile) {
+			if (this.count == 0) return 0;
+
+			long rank = (long) Math.ceil(this.count * Math.min(100, Math.max(0, percentile)) / 100D);
+			long seen = 0;
+
+			for (int index = 0; index < this.counts.length; index++) {
+				seen += this.counts[index];
+				if (seen >= Math.max(1, rank)) return Math.min(upperBoundOf(index), this.max);
+			}
+
+			return this.max;
+		}
+	}
+}
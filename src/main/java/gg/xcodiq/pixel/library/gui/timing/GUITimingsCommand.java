@@ -0,0 +1,85 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.timing;
+
+import co.aikar.commands.BaseCommand;
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.CommandPermission;
+import co.aikar.commands.annotation.Default;
+import co.aikar.commands.annotation.Subcommand;
+import gg.xcodiq.pixel.library.util.ChatUtil;
+import org.bukkit.command.CommandSender;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@CommandAlias("guitimings")
+@CommandPermission("pixel.library.guitimings")
+public class GUITimingsCommand extends BaseCommand {
+
+	@Default
+	public void onList(CommandSender sender) {
+		Map<String, EnumMap<GUITimings.Phase, GUITimings.Histogram>> timings = GUITimings.getTimings();
+
+		if (timings.isEmpty()) {
+			sender.sendMessage(ChatUtil.format("&cNo GUI timings recorded" + (GUITimings.isEnabled() ? "" : ", enable them with &f/guitimings on")));
+			return;
+		}
+
+		timings.forEach((guiClass, histograms) -> {
+			sender.sendMessage(ChatUtil.format("&b&l" + guiClass));
+
+			histograms.forEach((phase, histogram) -> {
+				if (histogram.getCount() == 0) return;
+
+				sender.sendMessage(ChatUtil.format(String.format("&7 %-8s &fcount %d &7| &fp50 %.3fms &7| &fp99 %.3fms &7| &fmax %.3fms",
+						phase, histogram.getCount(), toMillis(histogram.getPercentile(50)),
+						toMillis(histogram.getPercentile(99)), toMillis(histogram.getMax()))));
+			});
+		});
+	}
+
+	@Subcommand("on")
+	public void onEnable(CommandSender sender) {
+		GUITimings.setEnabled(true);
+		sender.sendMessage(ChatUtil.format("&aGUI timings are now being recorded"));
+	}
+
+	@Subcommand("off")
+	public void onDisable(CommandSender sender) {
+		GUITimings.setEnabled(false);
+		sender.sendMessage(ChatUtil.format("&cGUI timings are no longer being recorded"));
+	}
+
+	@Subcommand("reset")
+	public void onReset(CommandSender sender) {
+		GUITimings.reset();
+		sender.sendMessage(ChatUtil.format("&aGUI timings have been reset"));
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000D;
+	}
+}
@@ -27,6 +27,7 @@ package gg.xcodiq.pixel.library.util;
 import lombok.SneakyThrows;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 public class ReflectionUtil {
@@ -50,6 +51,15 @@ public class ReflectionUtil {
 		}
 	}
 
+	public static Method findMethod(Class<?> sourceClass, String methodName, Class<?>... parameterTypes) {
+		try {
+			//Return null instead of failing, so callers can check if the running platform has the method
+			return sourceClass.getMethod(methodName, parameterTypes);
+		} catch (NoSuchMethodException | SecurityException ex) {
+			return null;
+		}
+	}
+
 	public static void setRawValue(Field field, Object object, Object value) {
 		try {
 			field.set(object, value);
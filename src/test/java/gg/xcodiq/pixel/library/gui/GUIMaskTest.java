@@ -0,0 +1,89 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GUIMaskTest {
+
+	private final ItemStack item = new ItemStack(Material.STONE);
+
+	@Test
+	public void borderSlotsFrameTheInventory() {
+		long bits = GUIMask.borderSlots(3);
+		assertEquals(20, Long.bitCount(bits));
+
+		GUIMask mask = new GUIMask(bits, item);
+		for (int slot = 0; slot < 27; slot++) {
+			boolean edge = slot < 9 || slot >= 18 || slot % 9 == 0 || slot % 9 == 8;
+			assertEquals("slot " + slot, edge, mask.contains(slot));
+		}
+	}
+
+	@Test
+	public void borderSlotsOfLargestInventory() {
+		long bits = GUIMask.borderSlots(6);
+
+		assertEquals(26, Long.bitCount(bits));
+		assertEquals(53, 63 - Long.numberOfLeadingZeros(bits));
+	}
+
+	@Test
+	public void smallInventoriesHaveNoBorder() {
+		assertEquals(0, GUIMask.borderSlots(1));
+		assertEquals(0, GUIMask.borderSlots(2));
+	}
+
+	@Test
+	public void ofIgnoresSlotsOutsideTheMask() {
+		GUIMask mask = GUIMask.of(item, 0, 8, 53, 64, -1);
+
+		assertEquals(3, Long.bitCount(mask.getSlots()));
+		assertTrue(mask.contains(0));
+		assertTrue(mask.contains(53));
+		assertFalse(mask.contains(1));
+		assertFalse(mask.contains(64));
+		assertFalse(mask.contains(-1));
+	}
+
+	@Test
+	public void applyToOnlyWritesMaskedSlotsThatExist() {
+		GUIFrame frame = new GUIFrame(1, null, "Test", 27);
+
+		// A mask for six rows applied to three, the slots past the end are skipped
+		new GUIMask(GUIMask.borderSlots(6), item).applyTo(frame);
+
+		ItemStack[] items = frame.getItems();
+		for (int slot = 0; slot < 27; slot++) {
+			boolean masked = slot < 9 || slot % 9 == 0 || slot % 9 == 8;
+			if (masked) assertSame("slot " + slot, item, items[slot]);
+			else assertNull("slot " + slot, items[slot]);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.inventory.Inventory;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InventoryPoolTest {
+
+	private final List<Inventory> created = new ArrayList<>();
+	private final InventoryPool pool = new InventoryPool(2, (size, title) -> this.createInventory());
+
+	@Test
+	public void reusesReleasedInventoryOfSameSizeAndTitle() {
+		Inventory first = pool.acquire(27, "Shop");
+		pool.release(first);
+
+		assertSame(first, pool.acquire(27, "Shop"));
+		assertEquals(1, created.size());
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void sizeAndTitleArePartOfTheKey() {
+		Inventory shop = pool.acquire(27, "Shop");
+		pool.release(shop);
+
+		assertNotSame(shop, pool.acquire(54, "Shop"));
+		assertNotSame(shop, pool.acquire(27, "Bank"));
+		assertSame(shop, pool.acquire(27, "Shop"));
+	}
+
+	@Test
+	public void neverPoolsInventoriesWithViewers() {
+		Inventory viewed = pool.acquire(27, "Shop");
+		viewed.getViewers().add(viewer());
+
+		pool.release(viewed);
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void skipsIdleInventoriesThatGotViewers() {
+		Inventory idle = pool.acquire(27, "Shop");
+		pool.release(idle);
+		idle.getViewers().add(viewer());
+
+		assertNotSame(idle, pool.acquire(27, "Shop"));
+	}
+
+	@Test
+	public void ignoresForeignAndRepeatedReleases() {
+		pool.release(this.createInventory());
+		assertEquals(0, pool.getIdleCount());
+
+		Inventory inventory = pool.acquire(27, "Shop");
+		pool.release(inventory);
+		pool.release(inventory);
+		assertEquals(1, pool.getIdleCount());
+	}
+
+	@Test
+	public void keepsAFewIdleInventoriesPerKey() {
+		List<Inventory> inventories = new ArrayList<>();
+		for (int i = 0; i < 6; i++) inventories.add(pool.acquire(27, "Shop"));
+		inventories.forEach(pool::release);
+
+		assertEquals(4, pool.getIdleCount());
+	}
+
+	@Test
+	public void dropsLeastRecentlyUsedKeys() {
+		Inventory a = pool.acquire(27, "A"), b = pool.acquire(27, "B");
+		pool.release(a);
+		pool.release(b);
+
+		// Using A again makes B the eldest key, so C pushes B out
+		pool.release(pool.acquire(27, "A"));
+		Inventory c = pool.acquire(27, "C");
+		pool.release(c);
+
+		assertEquals(2, pool.getIdleCount());
+		assertSame(a, pool.acquire(27, "A"));
+		assertSame(c, pool.acquire(27, "C"));
+		assertNotSame(b, pool.acquire(27, "B"));
+	}
+
+	@Test
+	public void clearForgetsEveryInventory() {
+		Inventory inventory = pool.acquire(27, "Shop");
+		pool.clear();
+		pool.release(inventory);
+
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	private Inventory createInventory() {
+		List<HumanEntity> viewers = new ArrayList<>();
+
+		Inventory inventory = (Inventory) Proxy.newProxyInstance(Inventory.class.getClassLoader(), new Class[]{Inventory.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getViewers":
+					return viewers;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Inventory#" + created.indexOf(proxy);
+				default:
+					return null;
+			}
+		});
+
+		created.add(inventory);
+		return inventory;
+	}
+
+	private static HumanEntity viewer() {
+		return (HumanEntity) Proxy.newProxyInstance(HumanEntity.class.getClassLoader(), new Class[]{HumanEntity.class}, (proxy, method, args) -> null);
+	}
+}
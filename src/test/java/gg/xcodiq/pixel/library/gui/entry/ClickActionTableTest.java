@@ -0,0 +1,154 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.entry;
+
+import gg.xcodiq.pixel.library.gui.event.GUIClickEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.*;
+
+public class ClickActionTableTest {
+
+	private static final EnumSet<ClickType> LEFT_AND_RIGHT = EnumSet.of(ClickType.LEFT, ClickType.SHIFT_LEFT, ClickType.WINDOW_BORDER_LEFT,
+			ClickType.RIGHT, ClickType.SHIFT_RIGHT, ClickType.WINDOW_BORDER_RIGHT);
+
+	private final BiConsumer<Player, GUIClickEvent> first = (player, event) -> {
+	};
+	private final BiConsumer<Player, GUIClickEvent> second = (player, event) -> {
+	};
+
+	@Test
+	public void newTableIsEmpty() {
+		ClickActionTable table = new ClickActionTable();
+
+		assertTrue(table.isEmpty());
+		for (ClickType clickType : ClickType.values()) assertNull(table.get(clickType));
+		assertNull(table.get(null));
+	}
+
+	@Test
+	public void putCoversOnlyItsClickType() {
+		ClickActionTable table = new ClickActionTable().put(ClickType.MIDDLE, first);
+
+		assertSame(first, table.get(ClickType.MIDDLE));
+		assertTrue(table.contains(ClickType.MIDDLE));
+		assertFalse(table.contains(ClickType.LEFT));
+		assertNull(table.get(ClickType.LEFT));
+	}
+
+	@Test
+	public void putLeftAndRightCoversEveryLeftAndRightClick() {
+		ClickActionTable table = new ClickActionTable().putLeftAndRight(first);
+
+		for (ClickType clickType : ClickType.values()) {
+			assertEquals(clickType.name(), LEFT_AND_RIGHT.contains(clickType) ? first : null, table.get(clickType));
+		}
+	}
+
+	@Test
+	public void putAllCoversEveryClickType() {
+		ClickActionTable table = new ClickActionTable().putAll(first);
+
+		for (ClickType clickType : ClickType.values()) assertSame(clickType.name(), first, table.get(clickType));
+	}
+
+	@Test
+	public void differentActionsPerClickType() {
+		ClickActionTable table = new ClickActionTable().putAll(first).put(ClickType.DROP, second);
+
+		assertSame(second, table.get(ClickType.DROP));
+		for (ClickType clickType : ClickType.values()) {
+			if (clickType != ClickType.DROP) assertSame(clickType.name(), first, table.get(clickType));
+		}
+
+		table.putLeftAndRight(second);
+		assertSame(second, table.get(ClickType.SHIFT_RIGHT));
+		assertSame(first, table.get(ClickType.MIDDLE));
+	}
+
+	@Test
+	public void removeAndPuttingNullClearClickTypes() {
+		ClickActionTable table = new ClickActionTable().putLeftAndRight(first);
+
+		table.remove(ClickType.LEFT).put(ClickType.RIGHT, null);
+		assertFalse(table.contains(ClickType.LEFT));
+		assertFalse(table.contains(ClickType.RIGHT));
+		assertSame(first, table.get(ClickType.SHIFT_LEFT));
+
+		for (ClickType clickType : LEFT_AND_RIGHT) table.remove(clickType);
+		assertTrue(table.isEmpty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void emptyTableIsImmutable() {
+		ClickActionTable.EMPTY.put(ClickType.LEFT, first);
+	}
+
+	@Test
+	public void convertsFromAndToMap() {
+		Map<ClickType, BiConsumer<Player, GUIClickEvent>> map = new HashMap<>();
+		map.put(ClickType.LEFT, first);
+		map.put(ClickType.RIGHT, second);
+
+		ClickActionTable table = ClickActionTable.of(map);
+		assertSame(first, table.get(ClickType.LEFT));
+		assertSame(second, table.get(ClickType.RIGHT));
+		assertEquals(map, table.toMap());
+
+		// The map is a copy, changing it leaves the table alone
+		table.toMap().clear();
+		assertFalse(table.isEmpty());
+	}
+
+	@Test
+	public void builderCopiesTheEmptyTableBeforeAddingToIt() {
+		GUIEntry entry = new GUIEntryBuilder()
+				.setClickActions(ClickActionTable.EMPTY)
+				.onClick(first)
+				.setAction(ClickType.MIDDLE, second)
+				.build();
+
+		assertSame(first, entry.getClickAction(ClickType.LEFT));
+		assertSame(second, entry.getClickAction(ClickType.MIDDLE));
+		assertTrue(ClickActionTable.EMPTY.isEmpty());
+	}
+
+	@Test
+	public void entryCopiesTheEmptyTableBeforeAddingToIt() {
+		GUIEntry entry = new GUIEntryBuilder().setClickActions(ClickActionTable.EMPTY).build();
+		assertSame(ClickActionTable.EMPTY, entry.getClickActionTable());
+
+		entry.onAllClicks(first);
+		assertSame(first, entry.getClickAction(ClickType.DROP));
+		assertTrue(ClickActionTable.EMPTY.isEmpty());
+	}
+}
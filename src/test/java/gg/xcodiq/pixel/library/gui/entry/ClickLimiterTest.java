@@ -0,0 +1,146 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.entry;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ClickLimiterTest {
+
+	private final UUID player = UUID.randomUUID();
+	private final UUID other = UUID.randomUUID();
+
+	@Test
+	public void allowsBurstThenRejects() {
+		ClickLimiter limiter = new ClickLimiter(0.001, 3);
+
+		assertTrue(limiter.tryAcquire(player));
+		assertTrue(limiter.tryAcquire(player));
+		assertTrue(limiter.tryAcquire(player));
+		assertFalse(limiter.tryAcquire(player));
+		assertFalse(limiter.tryAcquire(player));
+
+		assertEquals(2, limiter.getRejectedClicks(player));
+	}
+
+	@Test
+	public void playersHaveTheirOwnBucket() {
+		ClickLimiter limiter = new ClickLimiter(0.001, 1);
+
+		assertTrue(limiter.tryAcquire(player));
+		assertFalse(limiter.tryAcquire(player));
+		assertTrue(limiter.tryAcquire(other));
+		assertEquals(0, limiter.getRejectedClicks(other));
+	}
+
+	@Test
+	public void refillsOverTime() throws InterruptedException {
+		ClickLimiter limiter = new ClickLimiter(1000, 1);
+
+		assertTrue(limiter.tryAcquire(player));
+		Thread.sleep(20);
+		assertTrue(limiter.tryAcquire(player));
+	}
+
+	@Test
+	public void debounceAllowsOneClickPerWindow() {
+		ClickLimiter limiter = ClickLimiter.debounce(1, TimeUnit.HOURS);
+
+		assertTrue(limiter.tryAcquire(player));
+		assertFalse(limiter.tryAcquire(player));
+	}
+
+	@Test
+	public void rejectedClickDoesNotDrainOtherLimiters() {
+		ClickLimiter strict = new ClickLimiter(0.001, 1);
+		ClickLimiter loose = new ClickLimiter(0.001, 5);
+
+		assertTrue(ClickLimiter.tryAcquire(player, strict, loose));
+		for (int i = 0; i < 10; i++) assertFalse(ClickLimiter.tryAcquire(player, strict, loose));
+
+		// Only the accepted click took a token from the loose limiter
+		for (int i = 0; i < 4; i++) assertTrue(loose.tryAcquire(player));
+		assertFalse(loose.tryAcquire(player));
+		assertEquals(10, strict.getRejectedClicks(player));
+	}
+
+	@Test
+	public void sameLimiterTwiceTakesOneToken() {
+		ClickLimiter limiter = new ClickLimiter(0.001, 2);
+
+		assertTrue(ClickLimiter.tryAcquire(player, limiter, limiter));
+		assertTrue(limiter.tryAcquire(player));
+		assertFalse(limiter.tryAcquire(player));
+	}
+
+	@Test
+	public void missingLimitersAllowEveryClick() {
+		assertTrue(ClickLimiter.tryAcquire(player, null, null));
+	}
+
+	@Test
+	public void purgeDropsPlayerFromEveryLimiter() {
+		ClickLimiter first = new ClickLimiter(0.001, 1);
+		ClickLimiter second = new ClickLimiter(0.001, 1);
+
+		first.tryAcquire(player);
+		first.tryAcquire(player);
+		second.tryAcquire(player);
+		second.tryAcquire(other);
+
+		ClickLimiter.purge(player);
+
+		assertEquals(0, first.getRejectedClicks(player));
+		assertTrue(first.tryAcquire(player));
+		assertTrue(second.tryAcquire(player));
+		assertFalse(second.tryAcquire(other));
+	}
+
+	@Test
+	public void resetDropsPlayerFromOneLimiter() {
+		ClickLimiter limiter = new ClickLimiter(0.001, 1);
+
+		limiter.tryAcquire(player);
+		limiter.tryAcquire(player);
+		limiter.reset(player);
+
+		assertEquals(0, limiter.getRejectedClicks(player));
+		assertTrue(limiter.tryAcquire(player));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rateMustBePositive() {
+		new ClickLimiter(0, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void burstMustBeAtLeastOne() {
+		new ClickLimiter(1, 0);
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.page;
+
+import gg.xcodiq.pixel.library.gui.GUI;
+import gg.xcodiq.pixel.library.gui.GUIMask;
+import gg.xcodiq.pixel.library.gui.entry.GUIEntry;
+import gg.xcodiq.pixel.library.gui.entry.GUIEntryBuilder;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class GUIPageBuilderTest {
+
+	@Test
+	public void flowsEntriesOverTheContentSlots() {
+		List<GUIEntry> entries = entries(20);
+		List<GUIPage> pages = new GUIPageBuilder().addItems(entries).buildPages(new TestGUI(3));
+
+		assertEquals(2, pages.size());
+		assertEquals(entries.subList(0, 18), pages.get(0).getEntries());
+		assertEquals(entries.subList(18, 20), pages.get(1).getEntries());
+
+		for (int i = 0; i < 18; i++) assertEquals(i, pages.get(0).getSlot(entries.get(i)));
+		assertEquals(0, pages.get(1).getSlot(entries.get(18)));
+		assertEquals(1, pages.get(1).getSlot(entries.get(19)));
+	}
+
+	@Test
+	public void leavesTheEntriesUntouched() {
+		List<GUIEntry> entries = entries(30);
+		new GUIPageBuilder().addItems(entries).buildPages(new TestGUI(3));
+
+		for (GUIEntry entry : entries) assertEquals(-1, entry.getSlot());
+	}
+
+	@Test
+	public void neverUsesTheNavigationRow() {
+		TestGUI gui = new TestGUI(4);
+
+		for (GUIPage page : new GUIPageBuilder().addItems(entries(100)).buildPages(gui)) {
+			for (GUIEntry entry : page.getEntries()) assertTrue(page.getSlot(entry) < 27);
+		}
+	}
+
+	@Test
+	public void showsFixedEntriesOnEveryPage() {
+		GUIEntry fixed = new GUIEntryBuilder().setSlot(4).build();
+		List<GUIEntry> entries = entries(20);
+
+		List<GUIPage> pages = new GUIPageBuilder().addItem(fixed).addItems(entries).buildPages(new TestGUI(3));
+
+		assertEquals(2, pages.size());
+		for (GUIPage page : pages) {
+			assertTrue(page.getEntries().contains(fixed));
+			assertEquals(4, page.getSlot(fixed));
+
+			for (GUIEntry entry : page.getEntries()) {
+				if (entry != fixed) assertNotEquals(4, page.getSlot(entry));
+			}
+		}
+		assertEquals(18, pages.get(0).getEntries().size());
+	}
+
+	@Test
+	public void laysOutAroundTheEntriesAndMasksOfTheGUI() {
+		TestGUI gui = new TestGUI(3, new GUIEntryBuilder().setSlot(0).build(), new GUIEntryBuilder().build());
+		gui.addMask(GUIMask.of(null, 2, 3));
+
+		// Slot 0 is taken, 2 and 3 are masked and the GUI's own entry without a slot takes slot 1
+		assertArrayEquals(IntStream.range(4, 18).toArray(), new GUIPageBuilder().getContentSlots(gui));
+	}
+
+	@Test
+	public void bordersFollowTheRowsOfTheGUI() {
+		GUIPageBuilder builder = new GUIPageBuilder().setRows(6).fillBorders();
+
+		int[] expected = IntStream.concat(IntStream.rangeClosed(10, 16), IntStream.rangeClosed(19, 25)).toArray();
+		assertArrayEquals(expected, builder.getContentSlots(new TestGUI(4)));
+
+		List<GUIPage> pages = builder.addItems(entries(15)).buildPages(new TestGUI(4));
+		assertEquals(2, pages.size());
+		assertTrue(pages.get(0).isFillBorders());
+	}
+
+	@Test
+	public void buildsOnePageWithoutFlowingEntries() {
+		GUIEntry fixed = new GUIEntryBuilder().setSlot(3).build();
+		List<GUIPage> pages = new GUIPageBuilder().addItem(fixed).addItem(fixed).buildPages(new TestGUI(3));
+
+		assertEquals(1, pages.size());
+		assertEquals(1, pages.get(0).getEntries().size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void failsWhenNoSlotIsLeft() {
+		TestGUI gui = new TestGUI(3);
+		gui.addMask(GUIMask.of(null, IntStream.range(0, 18).toArray()));
+
+		new GUIPageBuilder().addItems(entries(1)).buildPages(gui);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failsOnFixedSlotOutsideTheGUI() {
+		new GUIPageBuilder().addItem(new GUIEntryBuilder().setSlot(27).build()).buildPages(new TestGUI(3));
+	}
+
+	private static List<GUIEntry> entries(int count) {
+		List<GUIEntry> entries = new ArrayList<>();
+		for (int i = 0; i < count; i++) entries.add(new GUIEntryBuilder().build());
+
+		return entries;
+	}
+
+	private static class TestGUI extends GUI {
+
+		private TestGUI(int rows, GUIEntry... entries) {
+			super("Test", rows);
+			for (GUIEntry entry : entries) this.addItem(entry);
+		}
+
+		@Override
+		protected void init() {
+		}
+
+		// The default border needs a running server to build its item
+		@Override
+		public ItemStack getBorder() {
+			return null;
+		}
+	}
+}
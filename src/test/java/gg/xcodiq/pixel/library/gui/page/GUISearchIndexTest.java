@@ -0,0 +1,146 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.page;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GUISearchIndexTest {
+
+	private GUISearchIndex<Item> index;
+	private Item diamondSword, ironSword, diamondPickaxe, goldenApple;
+
+	@Before
+	public void setUp() {
+		this.diamondSword = new Item("Diamond Sword");
+		this.ironSword = new Item("Iron Sword");
+		this.diamondPickaxe = new Item("Diamond Pickaxe");
+		this.goldenApple = new Item("&6&lGolden Apple");
+
+		this.index = new GUISearchIndex<>(item -> item.name, Arrays.asList(diamondSword, ironSword, diamondPickaxe, goldenApple));
+	}
+
+	@Test
+	public void matchesEveryTermByPrefix() {
+		assertEquals(Arrays.asList(diamondSword, diamondPickaxe), index.search("diam").slice(0, 10));
+		assertEquals(Collections.singletonList(diamondSword), index.search("DIA sw").slice(0, 10));
+		assertEquals(0, index.search("diamond apple").size());
+	}
+
+	@Test
+	public void emptyQueryMatchesEverything() {
+		assertSame(index, index.search(null));
+		assertSame(index, index.search(" - "));
+		assertEquals(4, index.size());
+	}
+
+	@Test
+	public void ignoresColorCodes() {
+		assertEquals(Collections.singletonList(goldenApple), index.search("golden").slice(0, 10));
+		assertEquals(0, index.search("6").size());
+	}
+
+	@Test
+	public void resultsFollowChanges() {
+		GUIDataProvider<Item> swords = index.search("sword");
+		assertEquals(2, swords.size());
+
+		index.remove(ironSword);
+		assertEquals(Collections.singletonList(diamondSword), swords.slice(0, 10));
+
+		Item stoneSword = new Item("Stone Sword");
+		index.add(stoneSword);
+		assertEquals(Arrays.asList(diamondSword, stoneSword), swords.slice(0, 10));
+	}
+
+	@Test
+	public void updateReindexesInPlace() {
+		ironSword.name = "Netherite Sword";
+		index.update(ironSword);
+
+		assertEquals(0, index.search("iron").size());
+		assertEquals(Collections.singletonList(ironSword), index.search("nether").slice(0, 10));
+		assertEquals(Arrays.asList(diamondSword, ironSword, diamondPickaxe, goldenApple), index.slice(0, 10));
+	}
+
+	@Test
+	public void slicesPages() {
+		index.clear();
+
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < 100; i++) items.add(new Item("Block " + i));
+		items.forEach(index::add);
+
+		GUIDataProvider<Item> blocks = index.search("block");
+		assertEquals(items.subList(45, 90), blocks.slice(45, 45));
+		assertEquals(items.subList(90, 100), blocks.slice(90, 45));
+		assertTrue(blocks.slice(100, 45).isEmpty());
+		assertTrue(blocks.slice(-5, 0).isEmpty());
+	}
+
+	@Test
+	public void keepsOrderAfterCompaction() {
+		index.clear();
+
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < 200; i++) items.add(new Item("Block " + i));
+		items.forEach(index::add);
+
+		// Removing most elements compacts the index, which must not change the order of the rest
+		for (int i = 0; i < 200; i += 4) {
+			index.remove(items.get(i));
+			index.remove(items.get(i + 1));
+			index.remove(items.get(i + 2));
+		}
+
+		List<Item> expected = new ArrayList<>();
+		for (int i = 3; i < 200; i += 4) expected.add(items.get(i));
+
+		assertEquals(expected, index.slice(0, 200));
+		assertEquals(expected, index.search("block").slice(0, 200));
+		assertFalse(index.remove(items.get(0)));
+	}
+
+	private static class Item {
+
+		private String name;
+
+		private Item(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed under the MIT License
+ *
+ * Copyright (c) 2021 Pixel Entertainment LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package gg.xcodiq.pixel.library.gui.page;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class GUISortedIndexTest {
+
+	private GUISortedIndex<Member> index;
+	private Member alice, bob, carol, dave;
+
+	@Before
+	public void setUp() {
+		this.alice = new Member("alice", 30);
+		this.bob = new Member("bob", 10);
+		this.carol = new Member("carol", 20);
+		this.dave = new Member("dave", 20);
+
+		this.index = new GUISortedIndex<Member>()
+				.addOrder("name", member -> member.name)
+				.addOrder("score", member -> member.score);
+
+		Arrays.asList(alice, bob, carol, dave).forEach(index::add);
+	}
+
+	@Test
+	public void sortsByEveryOrder() {
+		assertEquals(Arrays.asList(alice, bob, carol, dave), index.sortedBy("name").slice(0, 10));
+		assertEquals(Arrays.asList(dave, carol, bob, alice), index.sortedBy("name", true).slice(0, 10));
+		assertEquals(Arrays.asList(bob, carol, dave, alice), index.sortedBy("score").slice(0, 10));
+	}
+
+	@Test
+	public void equalKeysKeepInsertionOrder() {
+		assertEquals(Arrays.asList(carol, dave), index.sortedBy("score").slice(1, 2));
+		// Descending is the exact reverse, ties included
+		assertEquals(Arrays.asList(dave, carol), index.sortedBy("score", true).slice(1, 2));
+	}
+
+	@Test
+	public void updateMovesChangedElement() {
+		GUIDataProvider<Member> byScore = index.sortedBy("score");
+
+		bob.score = 40;
+		index.update(bob);
+
+		assertEquals(Arrays.asList(carol, dave, alice, bob), byScore.slice(0, 10));
+		assertEquals(4, index.size());
+	}
+
+	@Test
+	public void removeDropsFromEveryOrder() {
+		assertTrue(index.remove(carol));
+		assertFalse(index.remove(carol));
+
+		assertEquals(Arrays.asList(alice, bob, dave), index.sortedBy("name").slice(0, 10));
+		assertEquals(Arrays.asList(bob, dave, alice), index.sortedBy("score").slice(0, 10));
+	}
+
+	@Test
+	public void orderAddedLaterContainsExistingElements() {
+		index.addOrder("length", member -> member.name.length());
+		assertEquals(Arrays.asList(bob, dave, alice, carol), index.sortedBy("length").slice(0, 10));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownOrderIsRejected() {
+		index.sortedBy("missing");
+	}
+
+	@Test
+	public void slicesMatchSortedListUnderRandomChanges() {
+		index.clear();
+
+		Random random = new Random(42);
+		List<Member> members = new ArrayList<>();
+
+		for (int i = 0; i < 5000; i++) {
+			int action = random.nextInt(10);
+
+			if (action < 6 || members.isEmpty()) {
+				Member member = new Member("p" + i, random.nextInt(100));
+				members.add(member);
+				index.add(member);
+			} else if (action < 8) {
+				Member member = members.remove(random.nextInt(members.size()));
+				assertTrue(index.remove(member));
+			} else {
+				Member member = members.get(random.nextInt(members.size()));
+				member.score = random.nextInt(100);
+				index.update(member);
+			}
+		}
+
+		// Stable on the insertion order, which is the order of the list for equal scores
+		List<Member> expected = members.stream().sorted(Comparator.comparingInt(member -> member.score)).collect(Collectors.toList());
+		GUIDataProvider<Member> byScore = index.sortedBy("score");
+		assertEquals(expected.size(), byScore.size());
+
+		// Every rank range, including ranges running past the end
+		for (int offset = 0; offset < expected.size() + 10; offset += 37) {
+			int to = Math.min(offset + 45, expected.size());
+			List<Member> page = offset >= expected.size() ? Collections.emptyList() : expected.subList(offset, to);
+
+			assertEquals(page, byScore.slice(offset, 45));
+		}
+
+		List<Member> reversed = new ArrayList<>(expected);
+		Collections.reverse(reversed);
+		assertEquals(reversed.subList(0, 45), index.sortedBy("score", true).slice(0, 45));
+	}
+
+	private static class Member {
+
+		private final String name;
+		private int score;
+
+		private Member(String name, int score) {
+			this.name = name;
+			this.score = score;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + "=" + this.score;
+		}
+	}
+}